@@ -0,0 +1,121 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.CustomerApplication;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.models.Customer;
+import com.interview.customer.store.CustomerStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JPA store on in-memory H2 against {@code InMemoryCustomerStore}, reading and updating through the
+ * {@link CustomerStore} interface. Setup loads the customers in batches and prints the heap they retain, measured
+ * after a full GC, so the footprint per customer appears next to the throughput figures.
+ * <p>
+ * Ten million JPA customers need a large heap; lower {@code customers} with {@code -p customers=1000000} if the
+ * machine does not have it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CustomerStoreBenchmark {
+
+    private static final int BATCH = 10_000;
+    private static final int SAMPLED_IDS = 1 << 16;
+
+    @Param({"jpa", "in-memory"})
+    public String store;
+
+    @Param({"10000000"})
+    public int customers;
+
+    private ConfigurableApplicationContext context;
+    private CustomerStore customerStore;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        SpringApplicationBuilder application = new SpringApplicationBuilder(CustomerApplication.class)
+                .properties("server.port=0", "logging.level.com.interview=WARN");
+        if (store.equals("in-memory")) {
+            application.profiles("in-memory");
+        }
+        context = application.run();
+        customerStore = context.getBean(CustomerStore.class);
+
+        long before = usedHeap();
+        ids = new UUID[SAMPLED_IDS];
+        int stride = Math.max(1, customers / SAMPLED_IDS);
+        for (int from = 0; from < customers; from += BATCH) {
+            List<Customer> batch = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(from + BATCH, customers); i++) {
+                Customer customer = new Customer();
+                customer.setFirstName("First" + (i % 1000));
+                customer.setLastName("Last" + (i % 997));
+                customer.setDob(LocalDate.of(1950, 1, 1).plusDays(i % 20_000));
+                batch.add(customer);
+            }
+            List<Customer> saved = customerStore.saveAll(batch);
+            for (int i = 0; i < saved.size(); i++) {
+                int position = from + i;
+                if (position % stride == 0 && position / stride < SAMPLED_IDS) {
+                    ids[position / stride] = saved.get(i).getCustomerId();
+                }
+            }
+        }
+        long retained = usedHeap() - before;
+        System.out.printf("%n%s store: %,d customers retain %,d bytes of heap, %.1f bytes per customer%n",
+                store, customers, retained, (double) retained / customers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object findById() {
+        return customerStore.findById(randomId());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object findPage() {
+        return customerStore.findPage(randomId(), 100);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<CustomerDTO> update() {
+        return customerStore.update(randomId(), "Neeraj", "Kumar", LocalDate.of(1991, 2, 2));
+    }
+
+    private UUID randomId() {
+        UUID id;
+        do {
+            id = ids[ThreadLocalRandom.current().nextInt(SAMPLED_IDS)];
+        } while (id == null);
+        return id;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,98 @@
+package com.interview.customer.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.encoding.CustomerBinaryCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and decoding a {@code GET /customers} body of 1, 100 and 100k customers as JSON, as JSON compressed the way
+ * {@code server.compression} does it, and in the binary customer encoding. The bytes each produces on the wire are
+ * printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EncodingBenchmark {
+
+    private static final TypeReference<List<CustomerDTO>> CUSTOMERS = new TypeReference<>() {
+    };
+    private static final String[] FIRST_NAMES = {"Maneesh", "Neeraj", "Asha", "Priya", "Rahul", "Sneha", "Vikram", "Anita"};
+    private static final String[] LAST_NAMES = {"Pandey", "Sharma", "Iyer", "Reddy", "Kapoor", "Mehta", "Nair", "Das"};
+
+    @Param({"1", "100", "100000"})
+    public int customers;
+
+    @Param({"json", "jsonGzip", "binary"})
+    public String encoding;
+
+    private ObjectMapper objectMapper;
+    private List<CustomerDTO> body;
+    private byte[] encoded;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SplittableRandom random = new SplittableRandom(42);
+        body = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            body.add(new CustomerDTO(UUID.randomUUID(), FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)], LocalDate.ofEpochDay(random.nextInt(-20_000, 15_000))));
+        }
+        buffer = new ByteArrayOutputStream();
+        encoded = encode().toByteArray();
+        if (!decode().equals(body)) {
+            throw new IllegalStateException(encoding + " does not round-trip");
+        }
+        System.out.println(encoding + " " + customers + " customers: " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream encode() throws IOException {
+        buffer.reset();
+        switch (encoding) {
+            case "json" -> objectMapper.writeValue(buffer, body);
+            case "jsonGzip" -> {
+                try (OutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+                    objectMapper.writeValue(gzip, body);
+                }
+            }
+            default -> CustomerBinaryCodec.writeCustomers(body, buffer);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    public List<CustomerDTO> decode() throws IOException {
+        InputStream in = new ByteArrayInputStream(encoded);
+        return switch (encoding) {
+            case "json" -> objectMapper.readValue(in, CUSTOMERS);
+            case "jsonGzip" -> {
+                try (InputStream gzip = new GZIPInputStream(in, 8192)) {
+                    yield objectMapper.readValue(gzip, CUSTOMERS);
+                }
+            }
+            default -> CustomerBinaryCodec.readCustomers(in);
+        };
+    }
+}
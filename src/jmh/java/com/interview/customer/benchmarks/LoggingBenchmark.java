@@ -0,0 +1,94 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.CustomerApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Request throughput from 16 threads with the per-request INFO lines switched off, written synchronously to the console
+ * as before, passed through the ring buffer, and passed through the ring buffer with one in {@value #SAMPLE_RATE} lines
+ * of the controller and the service kept. The console is redirected to a file, so every written line costs real I/O
+ * without flooding the benchmark output.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoggingBenchmark {
+
+    private static final int SAMPLE_RATE = 100;
+
+    @Param({"off", "sync", "async", "asyncSampled"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String customerPath;
+    private Path console;
+    private PrintStream systemOut;
+
+    @Setup
+    public void setUp() throws Exception {
+        console = Files.createTempFile("logging-benchmark", ".log");
+        systemOut = System.out;
+        System.setOut(new PrintStream(new FileOutputStream(console.toFile()), false));
+        // passed as arguments, which unlike default properties take precedence over application.properties
+        List<String> arguments = new ArrayList<>(List.of("--server.port=0", "--customers.concurrency-limit.enabled=false",
+                "--logging.level.com.interview=" + (logging.equals("off") ? "WARN" : "INFO"),
+                "--customers.logging.async=" + !logging.equals("sync")));
+        if (logging.equals("asyncSampled")) {
+            // sampling is off by default, so it is switched on only where it is what is measured
+            arguments.add("--customers.logging.sample-rates=com.interview.customer.controllers.CustomersController="
+                    + SAMPLE_RATE + ",com.interview.customer.services.CustomerService=" + SAMPLE_RATE);
+        }
+        context = new SpringApplicationBuilder(CustomerApplication.class)
+                .run(arguments.toArray(String[]::new));
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        String body = mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(RequestPipelineBenchmark.CREATE_REQUEST)).andReturn().getResponse().getContentAsString();
+        int idStart = body.indexOf("\"customerId\":\"") + 14;
+        customerPath = "/customers/" + body.substring(idStart, idStart + 36);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        String dropped = mockMvc.perform(get("/metrics/logging")).andReturn().getResponse().getContentAsString();
+        context.close();
+        System.out.close();
+        System.setOut(systemOut);
+        System.out.println("logging " + logging + ": " + dropped + ", " + Files.size(console) + " bytes written");
+        Files.delete(console);
+    }
+
+    @Benchmark
+    public int createCustomer() throws Exception {
+        return mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(RequestPipelineBenchmark.CREATE_REQUEST)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int getCustomer() throws Exception {
+        return mockMvc.perform(get(customerPath)).andReturn().getResponse().getStatus();
+    }
+}
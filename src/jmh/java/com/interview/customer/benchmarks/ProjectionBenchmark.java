@@ -0,0 +1,78 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.CustomerApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full-entity reads against {@code fields=customerId,lastName} projections, for a single customer and for a page of
+ * 100. The cache is disabled so both paths hit the database; the returned value is the payload size in bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectionBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"", "customerId,lastName"})
+    public String fields;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String customerPath;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(CustomerApplication.class)
+                .properties("server.port=0", "logging.level.com.interview=WARN", "customers.cache.enabled=false")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        StringJoiner customers = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(RequestPipelineBenchmark.CREATE_REQUEST);
+        }
+        String body = mockMvc.perform(post("/customers/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(customers.toString())).andReturn().getResponse().getContentAsString();
+        int idStart = body.indexOf("\"customerId\":\"") + 14;
+        customerPath = "/customers/" + body.substring(idStart, idStart + 36);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getCustomer() throws Exception {
+        return payloadSize(get(customerPath));
+    }
+
+    @Benchmark
+    public int getCustomersPage() throws Exception {
+        return payloadSize(get("/customers").param("pageSize", "100"));
+    }
+
+    private int payloadSize(MockHttpServletRequestBuilder request) throws Exception {
+        if (!fields.isEmpty()) {
+            request.param("fields", fields);
+        }
+        return mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,108 @@
+package com.interview.customer.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.customer.controllers.CustomersController;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.dto.ErrorResponse;
+import com.interview.customer.exceptions.GlobalExceptionHandler;
+import com.interview.customer.models.Customer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each stage of the create/read request path in isolation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequestHotPathBenchmark {
+
+    private Validator validator;
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler exceptionHandler;
+
+    private CustomerRequestDTO validRequest;
+    private CustomerRequestDTO invalidRequest;
+    private Customer customer;
+    private CustomerDTO customerDTO;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setUp() throws Exception {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        exceptionHandler = new GlobalExceptionHandler();
+
+        validRequest = new CustomerRequestDTO();
+        validRequest.setFirstName("Maneesh");
+        validRequest.setLastName("Pandey");
+        validRequest.setDob("1990-01-01");
+
+        invalidRequest = new CustomerRequestDTO();
+        invalidRequest.setFirstName("Maneesh1");
+        invalidRequest.setLastName("");
+        invalidRequest.setDob("1990-13-01");
+
+        customer = new Customer();
+        customer.setCustomerId(UUID.randomUUID());
+        customer.setFirstName("Maneesh");
+        customer.setLastName("Pandey");
+        customer.setDob(LocalDate.of(1990, 1, 1));
+        customerDTO = customer.toDTO();
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalidRequest, "customerRequestDTO");
+        bindingResult.addError(new FieldError("customerRequestDTO", "firstName", "First name should contain only alphabets"));
+        bindingResult.addError(new FieldError("customerRequestDTO", "lastName", "Last name is mandatory"));
+        bindingResult.addError(new FieldError("customerRequestDTO", "dob", "Date of birth should be in yyyy-MM-dd format"));
+        MethodParameter parameter = new MethodParameter(
+                CustomersController.class.getMethod("createCustomer", CustomerRequestDTO.class), 0);
+        validationException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerRequestDTO>> validateValidRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CustomerRequestDTO>> validateInvalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+
+    @Benchmark
+    public LocalDate parseDateOfBirth() {
+        return LocalDate.parse(validRequest.getDob());
+    }
+
+    @Benchmark
+    public CustomerDTO mapEntityToDTO() {
+        return customer.toDTO();
+    }
+
+    @Benchmark
+    public byte[] serializeCustomer() throws Exception {
+        return objectMapper.writeValueAsBytes(customerDTO);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> buildValidationErrorResponse() {
+        return exceptionHandler.handleValidationException(validationException);
+    }
+}
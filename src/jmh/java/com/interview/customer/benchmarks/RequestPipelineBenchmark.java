@@ -0,0 +1,74 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.CustomerApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The whole request path, from MockMvc dispatch through validation, service, repository and JSON, against the
+ * in-memory database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestPipelineBenchmark {
+
+    static final String CREATE_REQUEST = "{\"firstName\":\"Maneesh\",\"lastName\":\"Pandey\",\"dob\":\"1990-01-01\"}";
+    static final String INVALID_REQUEST = "{\"firstName\":\"Maneesh1\",\"lastName\":\"\",\"dob\":\"1990-13-01\"}";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private String customerPath;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(CustomerApplication.class)
+                .properties("server.port=0", "logging.level.com.interview=WARN")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        MvcResult created = mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CREATE_REQUEST)).andReturn();
+        String body = created.getResponse().getContentAsString();
+        int idStart = body.indexOf("\"customerId\":\"") + 14;
+        customerPath = "/customers/" + body.substring(idStart, idStart + 36);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createCustomer() throws Exception {
+        return mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CREATE_REQUEST)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int createInvalidCustomer() throws Exception {
+        return mockMvc.perform(post("/customers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(INVALID_REQUEST)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int getCustomer() throws Exception {
+        return mockMvc.perform(get(customerPath)).andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,78 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.dto.CustomerRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a create request and turning its date of birth into a {@link LocalDate}: the previous {@code @Pattern}
+ * constraints followed by {@code LocalDate.parse}, against the scanning validators that hand over the parsed date.
+ * Run with the {@code gc} profiler to compare the allocation per request as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequestValidationBenchmark {
+
+    @Data
+    public static class RegexCustomerRequest {
+
+        @NotBlank(message = "First name is mandatory")
+        @Pattern(regexp = "^[a-zA-Z]{1,255}$", message = "First name should contain only alphabets")
+        private String firstName;
+
+        @NotBlank(message = "Last name is mandatory")
+        @Pattern(regexp = "^[a-zA-Z]{1,255}$", message = "Last name should contain only alphabets")
+        private String lastName;
+
+        @NotNull(message = "Date of birth is mandatory")
+        @Pattern(regexp = "^\\d{4}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01])$", message = "Date of birth should be in yyyy-MM-dd format")
+        private String dob;
+    }
+
+    private Validator validator;
+    private RegexCustomerRequest regexRequest;
+    private CustomerRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        regexRequest = new RegexCustomerRequest();
+        regexRequest.setFirstName("Maneesh");
+        regexRequest.setLastName("Pandey");
+        regexRequest.setDob("1990-01-01");
+        request = new CustomerRequestDTO();
+        request.setFirstName("Maneesh");
+        request.setLastName("Pandey");
+    }
+
+    @Benchmark
+    public void regexValidateAndParse(Blackhole blackhole) {
+        Set<ConstraintViolation<RegexCustomerRequest>> violations = validator.validate(regexRequest);
+        blackhole.consume(violations);
+        blackhole.consume(LocalDate.parse(regexRequest.getDob()));
+    }
+
+    @Benchmark
+    public void scanValidateAndReuse(Blackhole blackhole) {
+        // a fresh dob clears the parsed date, as deserializing a new request would
+        request.setDob("1990-01-01");
+        Set<ConstraintViolation<CustomerRequestDTO>> violations = validator.validate(request);
+        blackhole.consume(violations);
+        blackhole.consume(request.dobAsLocalDate());
+    }
+}
@@ -0,0 +1,184 @@
+package com.interview.customer.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures restart-to-ready of the {@code durable} profile at given customer counts. For each count it writes a snapshot
+ * of that many generated customers into an empty data directory, then launches the application twice:
+ * <ul>
+ *   <li>{@code restore}: no database file, so the snapshot is bulk loaded before the web server starts;</li>
+ *   <li>{@code reopen}: the database file the first launch left behind is opened as it is.</li>
+ * </ul>
+ * Ready is the first successful {@code GET /customers}, which the web server only answers once the restore and the
+ * statistics count have finished.
+ * <p>
+ * Uses only the JDK, so it runs straight from source against a packaged jar:
+ * <pre>
+ *   mvn package -DskipTests
+ *   java -Xmx4g src/jmh/java/com/interview/customer/benchmarks/RestartHarness.java target/customer-0.0.1-SNAPSHOT.jar 1000000 10000000
+ * </pre>
+ * The snapshot is written in the format of {@code com.interview.customer.durable.CustomerSnapshot}, which this file
+ * cannot import; the two have to change together.
+ */
+public class RestartHarness {
+
+    private static final int SNAPSHOT_MAGIC = 0x43534E50;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final long SNAPSHOT_SEQUENCE = 1;
+    private static final int ALL_FIELDS = 0b1111;
+    private static final String[] FIRST_NAMES = {"Maneesh", "Anna", "Lukas", "Priya", "Mateo", "Yuki", "Olivia", "Omar"};
+    private static final String[] LAST_NAMES = {"Pandey", "Schmidt", "Garcia", "Tanaka", "Smith", "Haddad", "Novak", "Kim"};
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(30);
+    private static final long POLL_MILLIS = 50;
+
+    private final Path jar;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    RestartHarness(Path jar) {
+        this.jar = jar;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args.length > 0 ? args[0] : "target/customer-0.0.1-SNAPSHOT.jar").toAbsolutePath();
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " not found, build it with mvn package");
+        }
+        List<Long> counts = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            counts.add(Long.parseLong(args[i]));
+        }
+        if (counts.isEmpty()) {
+            counts = List.of(1_000_000L, 10_000_000L);
+        }
+        RestartHarness harness = new RestartHarness(jar);
+
+        List<String> lines = new ArrayList<>();
+        for (long count : counts) {
+            Path directory = Files.createTempDirectory("customers-" + count + "-");
+            try {
+                long bytes = writeSnapshot(directory, count);
+                long restore = harness.launch(directory, "restore-" + count);
+                long reopen = harness.launch(directory, "reopen-" + count);
+                lines.add(String.format("%,12d customers  snapshot %7.1f MB  restore %7d ms  reopen %7d ms",
+                        count, bytes / (1024.0 * 1024.0), restore, reopen));
+                System.out.println(lines.getLast());
+            } finally {
+                delete(directory);
+            }
+        }
+        System.out.println();
+        lines.forEach(System.out::println);
+    }
+
+    /**
+     * Starts the application on a free port in the durable profile, polls until {@code GET /customers} answers 200 and
+     * stops it again, gracefully so the database file is closed. The output is kept in {@code restart-<name>.log} next
+     * to the jar.
+     */
+    long launch(Path directory, String name) throws Exception {
+        int port = freePort();
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.profiles.active=durable",
+                "--customers.durable.directory=" + directory);
+        Path log = jar.resolveSibling("restart-" + name + ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/customers?pageSize=1"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            long deadline = start + READY_TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(name + " was not ready within " + READY_TIMEOUT + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(5, TimeUnit.MINUTES)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Writes {@code count} customers with ascending time-ordered ids, as a snapshot at journal sequence 1.
+     *
+     * @return the size of the snapshot file
+     */
+    static long writeSnapshot(Path directory, long count) throws IOException {
+        Path file = directory.resolve(String.format("snapshot-%020d.bin", SNAPSHOT_SEQUENCE));
+        Random random = new Random(42);
+        long epochMillis = System.currentTimeMillis() - count;
+        LocalDate earliest = LocalDate.of(1940, 1, 1);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 20))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(SNAPSHOT_SEQUENCE);
+            for (long i = 0; i < count; i++) {
+                out.writeByte(1);
+                // UUIDv7 layout: 48-bit millisecond timestamp, version 7, then the variant and random bits
+                out.writeLong(((epochMillis + i) << 16) | 0x7000L | random.nextInt(0x1000));
+                out.writeLong(0x8000000000000000L | (random.nextLong() >>> 2));
+                out.writeByte(ALL_FIELDS);
+                out.writeUTF(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                out.writeUTF(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                out.writeInt((int) earliest.plusDays(random.nextInt(365 * 65)).toEpochDay());
+                out.writeLong(0);
+            }
+            out.writeByte(0);
+            out.writeLong(count);
+        }
+        return Files.size(file);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
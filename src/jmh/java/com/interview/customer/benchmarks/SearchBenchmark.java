@@ -0,0 +1,97 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.CustomerApplication;
+import com.interview.customer.dto.CustomerPageDTO;
+import com.interview.customer.services.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First pages of customer searches against a table of millions of rows, created by the application's own schema so
+ * the indexes are the ones it ships. Setup fails unless H2 plans each search as a range scan of its index; the
+ * {@code lastNameScan} case is the same last-name search written against {@code LOWER(LAST_NAME)}, which no index
+ * covers, as the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final LocalDate DOB_FROM = LocalDate.of(1980, 3, 1);
+    private static final LocalDate DOB_TO = LocalDate.of(1980, 3, 31);
+
+    // random capitalized five-letter names; X is the SYSTEM_RANGE row number
+    private static final String NAME = "CHAR(65 + CAST(RAND() * 26 AS INT)) || CHAR(97 + CAST(RAND() * 26 AS INT))"
+            + " || CHAR(97 + CAST(RAND() * 26 AS INT)) || CHAR(97 + CAST(RAND() * 26 AS INT))"
+            + " || CHAR(97 + CAST(RAND() * 26 AS INT))";
+
+    private static final List<String> PLANS = List.of(
+            "SELECT CUSTOMER_ID FROM CUSTOMER WHERE LAST_NAME_NORMALIZED >= 'pan' AND LAST_NAME_NORMALIZED < 'pao'"
+                    + " ORDER BY LAST_NAME_NORMALIZED, CUSTOMER_ID FETCH FIRST 21 ROWS ONLY", "IDX_CUSTOMER_LAST_NAME",
+            "SELECT CUSTOMER_ID FROM CUSTOMER WHERE FIRST_NAME_NORMALIZED >= 'man' AND FIRST_NAME_NORMALIZED < 'mao'"
+                    + " ORDER BY FIRST_NAME_NORMALIZED, CUSTOMER_ID FETCH FIRST 21 ROWS ONLY", "IDX_CUSTOMER_FIRST_NAME",
+            "SELECT CUSTOMER_ID FROM CUSTOMER WHERE DATE_OF_BIRTH >= DATE '1980-03-01' AND DATE_OF_BIRTH <= DATE '1980-03-31'"
+                    + " ORDER BY DATE_OF_BIRTH, CUSTOMER_ID FETCH FIRST 21 ROWS ONLY", "IDX_CUSTOMER_DATE_OF_BIRTH");
+
+    @Param({"1000000", "3000000"})
+    public int rows;
+
+    @Param({"lastName", "firstName", "dateOfBirth", "lastNameScan"})
+    public String search;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CustomerApplication.class)
+                .properties("server.port=0", "logging.level.com.interview=WARN", "customers.cache.enabled=false")
+                .run();
+        customerService = context.getBean(CustomerService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO CUSTOMER (CUSTOMER_ID, FIRST_NAME, FIRST_NAME_NORMALIZED, LAST_NAME,"
+                + " LAST_NAME_NORMALIZED, DATE_OF_BIRTH, VERSION)"
+                + " SELECT ID, F, LOWER(F), L, LOWER(L), DATEADD(DAY, MOD(X * 7919, 36500), DATE '1930-01-01'), 0"
+                + " FROM (SELECT RANDOM_UUID() ID, " + NAME + " F, " + NAME + " L, X FROM SYSTEM_RANGE(1, ?))", rows);
+        jdbcTemplate.execute("ANALYZE");
+        for (int i = 0; i < PLANS.size(); i += 2) {
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + PLANS.get(i), String.class);
+            if (!plan.contains(PLANS.get(i + 1))) {
+                throw new IllegalStateException("search is not planned over " + PLANS.get(i + 1) + ":\n" + plan);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int firstPage() {
+        return switch (search) {
+            case "lastName" -> page(customerService.searchCustomers("Pan", null, null, null, null, PAGE_SIZE));
+            case "firstName" -> page(customerService.searchCustomers(null, "Man", null, null, null, PAGE_SIZE));
+            case "dateOfBirth" -> page(customerService.searchCustomers(null, null, DOB_FROM, DOB_TO, null, PAGE_SIZE));
+            case "lastNameScan" -> jdbcTemplate.queryForList("SELECT CUSTOMER_ID FROM CUSTOMER"
+                    + " WHERE LOWER(LAST_NAME) LIKE 'pan%' ORDER BY LOWER(LAST_NAME), CUSTOMER_ID"
+                    + " FETCH FIRST " + (PAGE_SIZE + 1) + " ROWS ONLY").size();
+            default -> throw new IllegalArgumentException(search);
+        };
+    }
+
+    private static int page(CustomerPageDTO page) {
+        return page.getCustomers().size();
+    }
+}
@@ -0,0 +1,81 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.CustomerApplication;
+import com.interview.customer.models.Customer;
+import com.interview.customer.store.CustomerStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of the {@code sharded} profile as the number of H2 shards grows: single inserts from concurrent
+ * callers, each landing on the shard of its new id, and bulk chunks that {@code ShardedCustomerStore} splits by shard
+ * and writes in parallel. Each shard is its own database with its own pool, so writers only contend within a shard;
+ * the scaling therefore depends on having at least as many cores as shards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ShardedWriteBenchmark {
+
+    private static final int CHUNK = 500;
+
+    @Param({"1", "2", "4"})
+    public int shards;
+
+    private ConfigurableApplicationContext context;
+    private CustomerStore customerStore;
+
+    @Setup
+    public void setUp() {
+        // command line arguments, unlike builder properties, take precedence over the shard list of the profile
+        String[] args = new String[shards];
+        for (int i = 0; i < shards; i++) {
+            args[i] = "--customers.sharding.urls[" + i + "]=jdbc:h2:mem:write-benchmark-" + shards + "-" + i;
+        }
+        context = new SpringApplicationBuilder(CustomerApplication.class)
+                .profiles("sharded")
+                .properties("server.port=0", "logging.level.com.interview=WARN")
+                .run(args);
+        customerStore = context.getBean(CustomerStore.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Customer save() {
+        return customerStore.save(customer());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public List<Customer> saveAll() {
+        List<Customer> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < CHUNK; i++) {
+            chunk.add(customer());
+        }
+        return customerStore.saveAll(chunk);
+    }
+
+    private static Customer customer() {
+        int i = ThreadLocalRandom.current().nextInt(20_000);
+        Customer customer = new Customer();
+        customer.setFirstName("First" + (i % 1000));
+        customer.setLastName("Last" + (i % 997));
+        customer.setDob(LocalDate.of(1950, 1, 1).plusDays(i));
+        return customer;
+    }
+}
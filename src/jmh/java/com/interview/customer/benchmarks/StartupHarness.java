@@ -0,0 +1,161 @@
+package com.interview.customer.benchmarks;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the extracted application a number of times in each of the standard, AOT and AOT+CDS modes and reports the
+ * time from launch to the first successful {@code GET /customers} and the resident set size at that moment. Every mode
+ * starts the same extracted jar, so the only difference between them is the JVM flags.
+ * <p>
+ * Uses only the JDK so the {@code startup} profile can run it straight from source:
+ * <pre>
+ *   java StartupHarness.java target/application [runs]
+ * </pre>
+ * RSS is read from {@code /proc} and reported as n/a elsewhere.
+ */
+public class StartupHarness {
+
+    static final String JAR = "customer-0.0.1-SNAPSHOT.jar";
+    static final String ARCHIVE = "application.jsa";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final long POLL_MILLIS = 10;
+
+    private final Path directory;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    StartupHarness(Path directory) {
+        this.directory = directory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Path.of(args.length > 0 ? args[0] : "target/application").toAbsolutePath();
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        if (!Files.exists(directory.resolve(JAR))) {
+            throw new IllegalStateException(directory.resolve(JAR) + " not found, build it with mvn -Pstartup package");
+        }
+        StartupHarness harness = new StartupHarness(directory);
+
+        List<Mode> modes = new ArrayList<>(List.of(
+                new Mode("standard", List.of()),
+                new Mode("aot", List.of("-Dspring.aot.enabled=true"))));
+        if (Files.exists(directory.resolve(ARCHIVE))) {
+            modes.add(new Mode("aot+cds", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=" + ARCHIVE)));
+        } else {
+            System.out.println("no " + ARCHIVE + " in " + directory + ", skipping aot+cds");
+        }
+
+        // one unmeasured launch so the first mode does not pay for a cold page cache
+        harness.launch(modes.getFirst());
+        List<String> lines = new ArrayList<>();
+        for (Mode mode : modes) {
+            long[] millis = new long[runs];
+            long[] rssKb = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Launch launch = harness.launch(mode);
+                millis[i] = launch.millis();
+                rssKb[i] = launch.rssKb();
+                System.out.printf("%-9s run %d: %d ms, rss %s%n", mode.name(), i + 1, launch.millis(), mb(launch.rssKb()));
+            }
+            lines.add(String.format("%-9s  first GET median %6d ms (min %6d)  rss median %s",
+                    mode.name(), median(millis), Arrays.stream(millis).min().orElseThrow(), mb(median(rssKb))));
+        }
+        System.out.println();
+        lines.forEach(System.out::println);
+    }
+
+    /**
+     * Starts the application on a free port, polls until {@code GET /customers} answers 200 and stops it again. The
+     * output of each launch is kept in {@code startup-<mode>.log} next to the jar.
+     */
+    Launch launch(Mode mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArguments());
+        command.addAll(List.of("-jar", JAR, "--server.port=" + port));
+        Path log = directory.resolve("startup-" + mode.name().replace('+', '-') + ".log");
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/customers"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            long deadline = start + STARTUP_TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with " + process.exitValue() + ", see " + log);
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.name() + " did not answer within " + STARTUP_TIMEOUT + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return new Launch(millis, rssKb(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            // not on Linux
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static String mb(long kb) {
+        return kb < 0 ? "n/a" : String.format("%.1f MB", kb / 1024.0);
+    }
+
+    record Mode(String name, List<String> jvmArguments) {
+    }
+
+    record Launch(long millis, long rssKb) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.models.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Batched inserts into the customer table keyed by random (v4) or time-ordered (v7) UUIDs, after the table has been
+ * pre-filled to different sizes with keys of the same kind. Uses a file-backed H2 database so B-tree page splits and
+ * page cache misses are part of the cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final Date DOB = Date.valueOf(LocalDate.of(1990, 1, 1));
+
+    @Param({"random", "v7"})
+    public String ids;
+
+    @Param({"100000", "1000000", "5000000"})
+    public int tableSize;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> idGenerator;
+
+    @Setup
+    public void setUp() throws Exception {
+        idGenerator = ids.equals("v7") ? UuidV7Generator::next : UUID::randomUUID;
+        directory = Files.createTempDirectory("uuid-insert");
+        connection = DriverManager.getConnection("jdbc:h2:" + directory.resolve("customers") + ";CACHE_SIZE=65536", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table customer (date_of_birth date, customer_id uuid not null, "
+                    + "first_name varchar(255), last_name varchar(255), primary key (customer_id))");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+                "insert into customer (date_of_birth, first_name, last_name, customer_id) values (?, ?, ?, ?)");
+        for (int filled = 0; filled < tableSize; filled += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        connection.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int insertBatch() throws Exception {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setDate(1, DOB);
+            insert.setString(2, "Maneesh");
+            insert.setString(3, "Pandey");
+            insert.setObject(4, idGenerator.get());
+            insert.addBatch();
+        }
+        int[] inserted = insert.executeBatch();
+        connection.commit();
+        return inserted.length;
+    }
+}
@@ -0,0 +1,83 @@
+package com.interview.customer.benchmarks;
+
+import com.interview.customer.CustomerApplication;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bursts of concurrent HTTP requests against the application served by platform or virtual request threads.
+ * <p>
+ * The database runs behind H2's TCP server so every repository call blocks on a real socket, as it would against a
+ * remote database. Both modes use the same connection pool size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class VirtualThreadLoadBenchmark {
+
+    private static final String CREATE_REQUEST = "{\"firstName\":\"Maneesh\",\"lastName\":\"Pandey\",\"dob\":\"1990-01-01\"}";
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"50", "200", "800"})
+    public int concurrency;
+
+    private Server databaseServer;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest listRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        databaseServer = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        context = new SpringApplicationBuilder(CustomerApplication.class)
+                .properties("server.port=0",
+                        "logging.level.com.interview=WARN",
+                        "spring.datasource.url=jdbc:h2:tcp://localhost:" + databaseServer.getPort() + "/mem:customers;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.threads.virtual.enabled=" + threads.equals("virtual"))
+                .run();
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        URI customers = URI.create("http://localhost:" + port + "/customers");
+        for (int i = 0; i < 100; i++) {
+            httpClient.send(HttpRequest.newBuilder(customers)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(CREATE_REQUEST))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+        listRequest = HttpRequest.newBuilder(URI.create(customers + "?pageSize=20")).GET().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        databaseServer.stop();
+    }
+
+    @Benchmark
+    public int burst() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = httpClient.sendAsync(listRequest, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
@@ -0,0 +1,70 @@
+package com.interview.customer.aspects;
+
+import com.interview.customer.exceptions.ConcurrencyLimitExceededException;
+import com.interview.customer.limits.AdaptiveConcurrencyLimit;
+import com.interview.customer.limits.ConcurrencyLimits;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Sheds {@code CustomersController} requests beyond the adaptive read, write or bulk limit with a 503 instead of
+ * letting them queue for a database connection. The streamed export is left out: it does its work after the
+ * controller method has returned, so a slot held around the method would not cover it.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimiting {
+
+    private final ConcurrencyLimits limits;
+
+    @Around("execution(* com.interview.customer.controllers.CustomersController.get*(..))"
+            + " || execution(* com.interview.customer.controllers.CustomersController.lookup*(..))"
+            + " || execution(* com.interview.customer.controllers.CustomersController.search*(..))")
+    public Object aroundRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        return limit(limits.reads(), joinPoint);
+    }
+
+    @Around("(execution(* com.interview.customer.controllers.CustomersController.create*(..))"
+            + " && !execution(* com.interview.customer.controllers.CustomersController.createCustomers(..)))"
+            + " || execution(* com.interview.customer.controllers.CustomersController.update*(..))"
+            + " || execution(* com.interview.customer.controllers.CustomersController.delete*(..))")
+    public Object aroundWrite(ProceedingJoinPoint joinPoint) throws Throwable {
+        return limit(limits.writes(), joinPoint);
+    }
+
+    /**
+     * A bulk create takes far longer than the write latency threshold on every call, so it would keep cutting the write
+     * limit; it gets a limit of its own with a threshold sized for whole batches.
+     */
+    @Around("execution(* com.interview.customer.controllers.CustomersController.createCustomers(..))")
+    public Object aroundBulkWrite(ProceedingJoinPoint joinPoint) throws Throwable {
+        return limit(limits.bulkWrites(), joinPoint);
+    }
+
+    private Object limit(AdaptiveConcurrencyLimit limit, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!limits.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        if (!limit.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(limit.getName() + " are at their concurrency limit of " + limit.getLimit());
+        }
+        long start = System.nanoTime();
+        boolean overloaded = false;
+        try {
+            return joinPoint.proceed();
+        } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException ex) {
+            // timeouts waiting for a connection or a lock say as much about load as a slow response
+            overloaded = true;
+            throw ex;
+        } finally {
+            limit.release(start, System.nanoTime(), overloaded);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.interview.customer.aspects;
+
+import com.interview.customer.metrics.LatencyHistogram;
+import com.interview.customer.metrics.LatencyRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LatencyMetrics {
+
+    private final LatencyRegistry latencyRegistry;
+
+    @Around("execution(* com.interview.customer.controllers.*.*(..))")
+    public Object aroundController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("controller", joinPoint);
+    }
+
+    @Around("execution(* com.interview.customer.services.*.*(..))")
+    public Object aroundService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("service", joinPoint);
+    }
+
+    @Around("execution(* com.interview.customer.repositories.*.*(..))")
+    public Object aroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("repository", joinPoint);
+    }
+
+    @Around("execution(* com.interview.customer.store.*.*(..))")
+    public Object aroundStore(ProceedingJoinPoint joinPoint) throws Throwable {
+        return record("store", joinPoint);
+    }
+
+    private Object record(String layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        LatencyHistogram histogram = latencyRegistry.histogram(layer, ((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            histogram.record(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.interview.customer.cache;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CacheStatsDTO;
+import com.interview.customer.dto.CustomerDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of customers by id.
+ * <p>
+ * Entries expire a fixed time after they were loaded and, once the cache is full, are evicted in CLOCK
+ * (second-chance) order. Concurrent misses on the same id share a single load.
+ */
+@Component
+public class CustomerCache {
+
+    private final ConcurrentHashMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private final boolean enabled;
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+
+    public CustomerCache(CustomerProperties properties) {
+        CustomerProperties.Cache cache = properties.getCache();
+        this.enabled = cache.isEnabled() && cache.getMaximumSize() > 0;
+        this.maximumSize = cache.getMaximumSize();
+        this.timeToLiveNanos = cache.getTimeToLive().toNanos();
+    }
+
+    public CustomerDTO get(UUID id, Function<UUID, CustomerDTO> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        while (true) {
+            long now = System.nanoTime();
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                if (now - entry.expiresAt < 0) {
+                    entry.referenced = true;
+                    if (entry.value.isDone()) {
+                        hits.increment();
+                    } else {
+                        coalescedLoads.increment();
+                    }
+                    return entry.await();
+                }
+                if (entries.remove(id, entry)) {
+                    expirations.increment();
+                }
+                continue;
+            }
+
+            Entry loading = new Entry(id, new CompletableFuture<>(), now + timeToLiveNanos);
+            if (entries.putIfAbsent(id, loading) != null) {
+                continue;
+            }
+            misses.increment();
+            admit(loading);
+            try {
+                CustomerDTO value = loader.apply(id);
+                loading.value.complete(value);
+                return value;
+            } catch (RuntimeException ex) {
+                entries.remove(id, loading);
+                loading.value.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * @return the cached customer if it is loaded and still fresh, without loading it or waiting for a load in flight
+     */
+    public CustomerDTO peek(UUID id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(id);
+        if (entry == null || System.nanoTime() - entry.expiresAt >= 0 || !entry.value.isDone()
+                || entry.value.isCompletedExceptionally()) {
+            return null;
+        }
+        entry.referenced = true;
+        return entry.value.join();
+    }
+
+    public void put(UUID id, CustomerDTO customer) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(id, CompletableFuture.completedFuture(customer), System.nanoTime() + timeToLiveNanos);
+        entries.put(id, entry);
+        admit(entry);
+    }
+
+    public void invalidate(UUID id) {
+        if (enabled) {
+            entries.remove(id);
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStatsDTO stats = new CacheStatsDTO();
+        stats.setEnabled(enabled);
+        stats.setSize(entries.size());
+        stats.setMaximumSize(maximumSize);
+        stats.setHits(hits.sum());
+        stats.setMisses(misses.sum());
+        stats.setCoalescedLoads(coalescedLoads.sum());
+        stats.setEvictions(evictions.sum());
+        stats.setExpirations(expirations.sum());
+        long requests = stats.getHits() + stats.getCoalescedLoads() + stats.getMisses();
+        stats.setHitRate(requests == 0 ? 0.0 : (double) (stats.getHits() + stats.getCoalescedLoads()) / requests);
+        return stats;
+    }
+
+    private void admit(Entry entry) {
+        clock.offer(entry);
+        queued.incrementAndGet();
+        // the queue also holds entries that were invalidated or replaced, so it is trimmed as well as the map
+        while (entries.size() > maximumSize || queued.get() > 2 * maximumSize) {
+            Entry candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            if (entries.get(candidate.id) != candidate) {
+                continue;
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.offer(candidate);
+                queued.incrementAndGet();
+            } else if (entries.remove(candidate.id, candidate)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final UUID id;
+        private final CompletableFuture<CustomerDTO> value;
+        private final long expiresAt;
+        private volatile boolean referenced;
+
+        private Entry(UUID id, CompletableFuture<CustomerDTO> value, long expiresAt) {
+            this.id = id;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private CustomerDTO await() {
+            try {
+                return value.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.interview.customer.cache;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.models.CustomerIdHash;
+import com.interview.customer.store.CustomerStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counting Bloom filter over the ids of existing customers, so lookups for ids that never existed or were deleted can
+ * be answered without a query. {@link #mightContain} never returns {@code false} for a stored customer; it returns
+ * {@code true} for a missing one with roughly the configured false-positive rate while the customer count stays
+ * within {@code expected-customers}.
+ * <p>
+ * Counters are 4 bits, sixteen to a {@code long}, and updated with CAS so writers never block readers. A counter that
+ * reaches 15 sticks there, which only costs false positives. The filter answers {@code true} for everything until the
+ * first rebuild from the store has finished, and ignores removals until then, since a removal for an id the rebuild
+ * has not counted yet could clear a counter another id relies on.
+ */
+@Component
+@Slf4j
+public class CustomerIdFilter {
+
+    private static final int MAX_COUNT = 15;
+
+    private final CustomerStore customerStore;
+    private final boolean enabled;
+    private final long counters;
+    private final int hashes;
+    private final AtomicLongArray words;
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private volatile boolean ready;
+
+    public CustomerIdFilter(CustomerProperties properties, CustomerStore customerStore) {
+        CustomerProperties.IdFilter filter = properties.getIdFilter();
+        this.customerStore = customerStore;
+        this.enabled = filter.isEnabled();
+        long expected = Math.max(1, filter.getExpectedCustomers());
+        double ln2 = Math.log(2);
+        this.counters = enabled ? Math.max(64, (long) Math.ceil(-expected * Math.log(filter.getFalsePositiveRate()) / (ln2 * ln2))) : 0;
+        this.hashes = enabled ? Math.max(1, (int) Math.round((double) counters / expected * ln2)) : 0;
+        this.words = new AtomicLongArray(Math.toIntExact((counters + 15) / 16));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (enabled) {
+            Thread.ofVirtual().name("customer-id-filter-rebuild").start(this::rebuild);
+        }
+    }
+
+    /**
+     * Adds every stored customer. Customers saved meanwhile are added by their writers, at worst twice, which like a
+     * removal skipped during the rebuild only leaves a false positive behind.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        LongAdder added = new LongAdder();
+        try {
+            customerStore.forEach(customer -> {
+                add(UUID.fromString(customer.getCustomerId()));
+                added.increment();
+            });
+            ready = true;
+            log.info("Customer id filter holds {} ids after {} ms ({} counters, {} hashes)",
+                    added.sum(), (System.nanoTime() - start) / 1_000_000, counters, hashes);
+        } catch (RuntimeException ex) {
+            log.error("Customer id filter rebuild failed, lookups will not be filtered: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * {@code false} only if no customer with this id exists.
+     */
+    public boolean mightContain(UUID id) {
+        if (!ready) {
+            return true;
+        }
+        checks.increment();
+        long h1 = h1(id);
+        long h2 = h2(id);
+        for (int i = 0; i < hashes; i++) {
+            if (count(index(h1 + i * h2)) == 0) {
+                rejections.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        long h1 = h1(id);
+        long h2 = h2(id);
+        for (int i = 0; i < hashes; i++) {
+            update(index(h1 + i * h2), 1);
+        }
+    }
+
+    public void remove(UUID id) {
+        if (!ready) {
+            return;
+        }
+        long h1 = h1(id);
+        long h2 = h2(id);
+        for (int i = 0; i < hashes; i++) {
+            update(index(h1 + i * h2), -1);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        return Map.of("enabled", enabled,
+                "ready", ready,
+                "counters", counters,
+                "hashes", hashes,
+                "checks", checks.sum(),
+                "rejections", rejections.sum());
+    }
+
+    private int count(long index) {
+        return (int) (words.get((int) (index >>> 4)) >>> shift(index)) & MAX_COUNT;
+    }
+
+    private void update(long index, int delta) {
+        int word = (int) (index >>> 4);
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT || (delta < 0 && count == 0)) {
+                return;
+            }
+            if (words.compareAndSet(word, current, current + ((long) delta << shift))) {
+                return;
+            }
+        }
+    }
+
+    // maps the hash onto [0, counters) with a multiply instead of a division
+    private long index(long hash) {
+        return Math.unsignedMultiplyHigh(hash, counters);
+    }
+
+    private static int shift(long index) {
+        return (int) (index & 15) << 2;
+    }
+
+    private static long h1(UUID id) {
+        return CustomerIdHash.of(id);
+    }
+
+    // never zero, so the probes of one id differ
+    private static long h2(UUID id) {
+        return CustomerIdHash.mix(id.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+    }
+}
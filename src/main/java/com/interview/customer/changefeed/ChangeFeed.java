@@ -0,0 +1,152 @@
+package com.interview.customer.changefeed;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerChangeEventDTO;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.durable.ChangeJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes customer changes into a {@link ChangeRingBuffer} and streams them to Server-Sent Events subscribers.
+ * <p>
+ * Each subscriber is served by its own virtual thread that follows the ring at its own pace, so a slow client only
+ * ever blocks itself. A subscriber that falls further behind than the ring holds receives a {@code reset} event and
+ * continues from the oldest retained change; it is expected to re-read the customers it cares about.
+ * <p>
+ * In the {@code durable} profile every change is also appended to the {@link ChangeJournal}.
+ */
+@Component
+@Slf4j
+public class ChangeFeed {
+
+    private static final long HEARTBEAT_NANOS = 15_000_000_000L;
+
+    private final ChangeRingBuffer ring;
+    private final long emitterTimeoutMillis;
+    private final Set<Thread> subscribers = ConcurrentHashMap.newKeySet();
+    private final ChangeJournal journal;
+
+    public ChangeFeed(CustomerProperties properties) {
+        this(properties, (ChangeJournal) null);
+    }
+
+    @Autowired
+    public ChangeFeed(CustomerProperties properties, ObjectProvider<ChangeJournal> journal) {
+        this(properties, journal.getIfAvailable());
+    }
+
+    private ChangeFeed(CustomerProperties properties, ChangeJournal journal) {
+        this.ring = new ChangeRingBuffer(properties.getChangeFeed().getCapacity());
+        this.emitterTimeoutMillis = properties.getChangeFeed().getEmitterTimeout().toMillis();
+        this.journal = journal;
+    }
+
+    public void publish(ChangeType type, UUID customerId, CustomerDTO customer) {
+        if (journal != null) {
+            journal.append(type, customerId, customer);
+        }
+        ring.publish(type, customerId, customer);
+        for (Thread subscriber : subscribers) {
+            LockSupport.unpark(subscriber);
+        }
+    }
+
+    /**
+     * Streams every change after {@code lastSequence}, or only new changes when it is {@code null}.
+     */
+    public SseEmitter subscribe(Long lastSequence) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        long from = lastSequence == null ? ring.lastSequence() + 1 : lastSequence + 1;
+        Subscription subscription = new Subscription(emitter, from);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        Thread.ofVirtual().name("change-feed-subscriber").start(subscription);
+        return emitter;
+    }
+
+    public Map<String, Long> stats() {
+        return Map.of("lastSequence", ring.lastSequence(),
+                "oldestSequence", ring.oldestSequence(),
+                "capacity", (long) ring.capacity(),
+                "subscribers", (long) subscribers.size());
+    }
+
+    private final class Subscription implements Runnable {
+
+        private final SseEmitter emitter;
+        private long next;
+        private volatile boolean closed;
+        private volatile Thread thread;
+
+        private Subscription(SseEmitter emitter, long next) {
+            this.emitter = emitter;
+            this.next = next;
+        }
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            subscribers.add(thread);
+            try {
+                long lastSent = System.nanoTime();
+                if (next < ring.oldestSequence()) {
+                    next = reset();
+                }
+                while (!closed) {
+                    CustomerChangeEventDTO event;
+                    try {
+                        event = ring.get(next);
+                    } catch (IllegalStateException lapped) {
+                        next = reset();
+                        continue;
+                    }
+                    if (event != null) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(event.getSequence()))
+                                .name(event.getType().name())
+                                .data(event));
+                        next++;
+                        lastSent = System.nanoTime();
+                    } else if (System.nanoTime() - lastSent > HEARTBEAT_NANOS) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                        lastSent = System.nanoTime();
+                    } else {
+                        LockSupport.parkNanos(HEARTBEAT_NANOS);
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Change feed subscriber disconnected: {}", ex.getMessage());
+                emitter.completeWithError(ex);
+            } finally {
+                subscribers.remove(Thread.currentThread());
+            }
+        }
+
+        private long reset() throws IOException {
+            long oldest = ring.oldestSequence();
+            emitter.send(SseEmitter.event().name("reset").data(Map.of("resumeFrom", oldest)));
+            return oldest;
+        }
+
+        private void close() {
+            closed = true;
+            Thread current = thread;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.interview.customer.changefeed;
+
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerChangeEventDTO;
+import com.interview.customer.dto.CustomerDTO;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, multi-producer ring of the most recent change events, addressed by sequence number (starting at 1).
+ * <p>
+ * Publishing claims a sequence with one atomic increment and stores the event in its slot, unless a later event
+ * already took it; it never waits for readers.
+ * Readers compare the sequence stored in a slot with the one they asked for to tell an event that is not published yet
+ * from one that has already been overwritten.
+ */
+public class ChangeRingBuffer {
+
+    private final AtomicReferenceArray<CustomerChangeEventDTO> slots;
+    private final int mask;
+    private final AtomicLong lastClaimed = new AtomicLong();
+
+    public ChangeRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public long publish(ChangeType type, UUID customerId, CustomerDTO customer) {
+        long sequence = lastClaimed.incrementAndGet();
+        store(new CustomerChangeEventDTO(sequence, type, customerId.toString(), customer, Instant.now()));
+        return sequence;
+    }
+
+    /**
+     * Stores the event unless its slot already holds a later one. A producer that stalls between claiming a sequence
+     * and storing it can be lapped; its event is then dropped as already overwritten, rather than replacing the later
+     * event in a slot no reader would ever find it in.
+     */
+    void store(CustomerChangeEventDTO event) {
+        int slot = (int) (event.getSequence() & mask);
+        while (true) {
+            CustomerChangeEventDTO current = slots.get(slot);
+            if (current != null && current.getSequence() > event.getSequence()) {
+                return;
+            }
+            if (slots.compareAndSet(slot, current, event)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the event with this sequence, or {@code null} if it has not been published yet
+     * @throws IllegalStateException if it has already been overwritten
+     */
+    public CustomerChangeEventDTO get(long sequence) {
+        CustomerChangeEventDTO event = slots.get((int) (sequence & mask));
+        if (event == null || event.getSequence() < sequence) {
+            if (sequence < oldestSequence()) {
+                throw new IllegalStateException("change " + sequence + " is no longer retained");
+            }
+            return null;
+        }
+        if (event.getSequence() > sequence) {
+            throw new IllegalStateException("change " + sequence + " is no longer retained");
+        }
+        return event;
+    }
+
+    public long lastSequence() {
+        return lastClaimed.get();
+    }
+
+    public long oldestSequence() {
+        return Math.max(1, lastClaimed.get() - mask);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,149 @@
+package com.interview.customer.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "customers")
+public class CustomerProperties {
+
+    private Pagination pagination = new Pagination();
+    private Bulk bulk = new Bulk();
+    private Lookup lookup = new Lookup();
+    private Cache cache = new Cache();
+    private VirtualThreads virtualThreads = new VirtualThreads();
+    private ChangeFeed changeFeed = new ChangeFeed();
+    private InMemory inMemory = new InMemory();
+    private Sharding sharding = new Sharding();
+    private Imports imports = new Imports();
+    private IdFilter idFilter = new IdFilter();
+    private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+    private Statistics statistics = new Statistics();
+    private GroupCommit groupCommit = new GroupCommit();
+    private Durable durable = new Durable();
+
+    @Data
+    public static class Pagination {
+        private int defaultPageSize = 100;
+        private int maxPageSize = 1000;
+
+        public int resolvePageSize(Integer requested) {
+            if (requested == null) {
+                return defaultPageSize;
+            }
+            return Math.clamp(requested, 1, maxPageSize);
+        }
+    }
+
+    @Data
+    public static class Bulk {
+        private int chunkSize = 500;
+        private int maxItems = 10_000;
+    }
+
+    @Data
+    public static class Lookup {
+        private int chunkSize = 500;
+        private int maxIds = 1000;
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private int maximumSize = 10_000;
+        private Duration timeToLive = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class VirtualThreads {
+        private boolean pinningMonitorEnabled = false;
+        private Duration pinningThreshold = Duration.ofMillis(20);
+    }
+
+    @Data
+    public static class ChangeFeed {
+        private int capacity = 65_536;
+        private Duration emitterTimeout = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class InMemory {
+        private int initialCapacity = 1024;
+    }
+
+    @Data
+    public static class Sharding {
+        private List<String> urls = new ArrayList<>();
+        private String username = "sa";
+        private String password = "";
+        private int poolSize = 10;
+        private int virtualNodes = 128;
+    }
+
+    @Data
+    public static class Imports {
+        private String directory = "imports";
+        private int batchSize = 500;
+        private int parallelism = 0;
+        private int maxRejections = 1000;
+
+        public int resolveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    @Data
+    public static class IdFilter {
+        private boolean enabled = true;
+        private long expectedCustomers = 1_000_000;
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Data
+    public static class ConcurrencyLimit {
+        private boolean enabled = true;
+        private double backoffRatio = 0.9;
+        private Limit reads = new Limit(20, 2, 200, Duration.ofMillis(100));
+        private Limit writes = new Limit(10, 2, 100, Duration.ofMillis(250));
+        private Limit bulkWrites = new Limit(2, 1, 8, Duration.ofSeconds(10));
+
+        @Data
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static class Limit {
+            private int initialLimit;
+            private int minLimit;
+            private int maxLimit;
+            private Duration latencyThreshold;
+        }
+    }
+
+    @Data
+    public static class Statistics {
+        private int topLastNames = 10;
+        private boolean consistencyCheck = false;
+    }
+
+    @Data
+    public static class GroupCommit {
+        private boolean enabled = false;
+        private int queueCapacity = 4096;
+        private int maxBatchSize = 256;
+        private Duration maxWait = Duration.ofMillis(2);
+    }
+
+    @Data
+    public static class Durable {
+        private String directory = "data";
+        private Duration snapshotInterval = Duration.ofMinutes(10);
+        private int retainedSnapshots = 2;
+        private Duration journalFlushInterval = Duration.ofMillis(10);
+        private int loadBatchSize = 10_000;
+    }
+}
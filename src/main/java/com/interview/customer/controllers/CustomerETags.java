@@ -0,0 +1,34 @@
+package com.interview.customer.controllers;
+
+import com.interview.customer.exceptions.CustomerVersionMismatchException;
+
+/**
+ * Strong entity tags derived from the customer version column.
+ */
+final class CustomerETags {
+
+    private CustomerETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @return the version an {@code If-Match} header requires, or {@code null} when any version is acceptable
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the mismatch below
+            }
+        }
+        throw new CustomerVersionMismatchException("If-Match does not match the current customer version");
+    }
+}
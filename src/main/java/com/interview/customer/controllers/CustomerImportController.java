@@ -0,0 +1,45 @@
+package com.interview.customer.controllers;
+
+import com.interview.customer.dto.ImportJobDTO;
+import com.interview.customer.dto.ImportRejectionDTO;
+import com.interview.customer.dto.ImportRequestDTO;
+import com.interview.customer.services.CustomerImportService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/customers/imports")
+@RequiredArgsConstructor
+public class CustomerImportController {
+
+    private final CustomerImportService customerImportService;
+
+    @PostMapping("")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobDTO startImport(@RequestBody @Valid ImportRequestDTO request) {
+        return customerImportService.startImport(request);
+    }
+
+    @GetMapping("")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ImportJobDTO> getImports() {
+        return customerImportService.getImports();
+    }
+
+    @GetMapping("/{jobId}")
+    @ResponseStatus(HttpStatus.OK)
+    public ImportJobDTO getImport(@PathVariable UUID jobId) {
+        return customerImportService.getImport(jobId);
+    }
+
+    @GetMapping("/{jobId}/rejections")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ImportRejectionDTO> getRejections(@PathVariable UUID jobId) {
+        return customerImportService.getRejections(jobId);
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.customer.controllers;
+
+import com.interview.customer.dto.CustomerStatisticsDTO;
+import com.interview.customer.statistics.CustomerStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/customers/statistics")
+@RequiredArgsConstructor
+public class CustomerStatisticsController {
+
+    private final CustomerStatistics customerStatistics;
+
+    @GetMapping("")
+    @ResponseStatus(HttpStatus.OK)
+    public CustomerStatisticsDTO getStatistics() {
+        return customerStatistics.statistics();
+    }
+}
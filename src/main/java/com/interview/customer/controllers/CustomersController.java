@@ -1,16 +1,34 @@
 package com.interview.customer.controllers;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.interview.customer.dto.BulkCreateResponseDTO;
 import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.dto.CustomerLookupDTO;
+import com.interview.customer.dto.CustomerPageDTO;
 import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.services.CustomerBulkService;
 import com.interview.customer.services.CustomerService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -19,7 +37,11 @@ import java.util.UUID;
 @Slf4j
 public class CustomersController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final CustomerService customerService;
+    private final CustomerBulkService customerBulkService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("")
     @ResponseStatus(HttpStatus.CREATED)
@@ -28,23 +50,97 @@ public class CustomersController {
         return customerService.saveCustomer(customer);
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public BulkCreateResponseDTO createCustomers(@RequestBody List<CustomerRequestDTO> customers){
+        log.info("Creating {} customers in bulk", customers.size());
+        return customerBulkService.saveCustomers(customers);
+    }
 
-    @GetMapping("")
+    @PostMapping("/lookup")
     @ResponseStatus(HttpStatus.OK)
-    public List<CustomerDTO> getAllCustomers() {
-        return customerService.getCustomers();
+    public CustomerLookupDTO lookupCustomers(@RequestBody List<UUID> customerIds){
+        return customerService.getCustomers(customerIds);
+    }
+
+    @GetMapping("")
+    public ResponseEntity<List<CustomerDTO>> getAllCustomers(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer pageSize,
+                                                             @RequestParam(required = false) String fields) {
+        Set<CustomerField> projection = CustomerField.parse(fields);
+        CustomerPageDTO page = projection == null
+                ? customerService.getCustomers(cursor, pageSize)
+                : customerService.getCustomers(cursor, pageSize, projection);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getCustomers());
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<CustomerDTO>> searchCustomers(@RequestParam(required = false) String lastName,
+                                                             @RequestParam(required = false) String firstName,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobFrom,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dobTo,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer pageSize) {
+        CustomerPageDTO page = customerService.searchCustomers(lastName, firstName, dobFrom, dobTo, cursor, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getCustomers());
+    }
+
+    @GetMapping(value = "", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllCustomers() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValuesAsArray(outputStream)) {
+                customerService.streamCustomers(customer -> {
+                    try {
+                        writer.write(customer);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public CustomerDTO getCustomer(@PathVariable UUID id){
-        return customerService.getCustomer(id);
+    public ResponseEntity<CustomerDTO> getCustomer(@PathVariable UUID id, @RequestParam(required = false) String fields,
+                                                   WebRequest request){
+        Set<CustomerField> projection = CustomerField.parse(fields);
+        if (projection != null) {
+            return ResponseEntity.ok(customerService.getCustomer(id, projection));
+        }
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(CustomerETags.of(customerService.getCustomerVersion(id)))) {
+            return null;
+        }
+        return withETag(customerService.getCustomer(id));
     }
 
     @PutMapping("/{customerId}")
-    @ResponseStatus(HttpStatus.OK)
-    public CustomerDTO updateCustomer(@PathVariable UUID customerId, @RequestBody @Valid CustomerRequestDTO customer){
-        return customerService.updateCustomer(customerId, customer);
+    public ResponseEntity<CustomerDTO> updateCustomer(@PathVariable UUID customerId,
+                                                      @RequestBody @Valid CustomerRequestDTO customer,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        Long expectedVersion = CustomerETags.expectedVersion(ifMatch);
+        return withETag(expectedVersion == null
+                ? customerService.updateCustomer(customerId, customer)
+                : customerService.updateCustomer(customerId, customer, expectedVersion));
+    }
+
+    private static ResponseEntity<CustomerDTO> withETag(CustomerDTO customer) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (customer.getVersion() != null) {
+            response.eTag(CustomerETags.of(customer.getVersion()));
+        }
+        return response.body(customer);
     }
 
     @DeleteMapping("/{id}")
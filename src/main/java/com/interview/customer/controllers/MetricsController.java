@@ -0,0 +1,79 @@
+package com.interview.customer.controllers;
+
+import com.interview.customer.cache.CustomerCache;
+import com.interview.customer.cache.CustomerIdFilter;
+import com.interview.customer.changefeed.ChangeFeed;
+import com.interview.customer.dto.CacheStatsDTO;
+import com.interview.customer.dto.ConcurrencyLimitStatsDTO;
+import com.interview.customer.dto.LatencyStatsDTO;
+import com.interview.customer.dto.LoggingStatsDTO;
+import com.interview.customer.dto.PinningStatsDTO;
+import com.interview.customer.limits.ConcurrencyLimits;
+import com.interview.customer.logging.LoggingPipeline;
+import com.interview.customer.metrics.LatencyRegistry;
+import com.interview.customer.metrics.VirtualThreadPinningMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final CustomerCache customerCache;
+    private final LatencyRegistry latencyRegistry;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final ChangeFeed changeFeed;
+    private final CustomerIdFilter customerIdFilter;
+    private final ConcurrencyLimits concurrencyLimits;
+    private final LoggingPipeline loggingPipeline;
+
+    @GetMapping("/cache")
+    @ResponseStatus(HttpStatus.OK)
+    public CacheStatsDTO getCacheStats() {
+        return customerCache.stats();
+    }
+
+    @GetMapping("/latency")
+    @ResponseStatus(HttpStatus.OK)
+    public List<LatencyStatsDTO> getLatencyStats() {
+        return latencyRegistry.stats();
+    }
+
+    @GetMapping("/pinning")
+    @ResponseStatus(HttpStatus.OK)
+    public PinningStatsDTO getPinningStats() {
+        return pinningMonitor.stats();
+    }
+
+    @GetMapping("/change-feed")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Long> getChangeFeedStats() {
+        return changeFeed.stats();
+    }
+
+    @GetMapping("/id-filter")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Object> getIdFilterStats() {
+        return customerIdFilter.stats();
+    }
+
+    @GetMapping("/limits")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ConcurrencyLimitStatsDTO> getConcurrencyLimitStats() {
+        return concurrencyLimits.stats();
+    }
+
+    @GetMapping("/logging")
+    @ResponseStatus(HttpStatus.OK)
+    public LoggingStatsDTO getLoggingStats() {
+        return loggingPipeline.stats();
+    }
+}
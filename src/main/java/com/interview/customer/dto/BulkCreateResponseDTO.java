@@ -0,0 +1,20 @@
+package com.interview.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create. Valid items are committed in chunks of {@code customers.bulk.chunk-size}; a request that
+ * fails part way through answers with an error instead of this body, and the chunks committed before the failure stay
+ * committed, so a client retrying it should look up what already exists first.
+ */
+@Data
+public class BulkCreateResponseDTO {
+    private int created;
+    private int rejected;
+    private List<CustomerDTO> customers;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<BulkItemErrorDTO> errors;
+}
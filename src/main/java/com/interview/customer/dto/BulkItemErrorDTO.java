@@ -0,0 +1,11 @@
+package com.interview.customer.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkItemErrorDTO {
+    private int index;
+    private List<Error> errors;
+}
@@ -0,0 +1,16 @@
+package com.interview.customer.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheStatsDTO {
+    private boolean enabled;
+    private int size;
+    private int maximumSize;
+    private long hits;
+    private long misses;
+    private long coalescedLoads;
+    private long evictions;
+    private long expirations;
+    private double hitRate;
+}
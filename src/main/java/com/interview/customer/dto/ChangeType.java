@@ -0,0 +1,7 @@
+package com.interview.customer.dto;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,13 @@
+package com.interview.customer.dto;
+
+import lombok.Data;
+
+@Data
+public class ConcurrencyLimitStatsDTO {
+    private String name;
+    private int limit;
+    private int inFlight;
+    private long accepted;
+    private long rejected;
+    private long backoffs;
+}
@@ -0,0 +1,18 @@
+package com.interview.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class CustomerChangeEventDTO {
+    private long sequence;
+    private ChangeType type;
+    private String customerId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CustomerDTO customer;
+    private Instant occurredAt;
+}
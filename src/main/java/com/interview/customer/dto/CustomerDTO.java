@@ -1,15 +1,35 @@
 package com.interview.customer.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CustomerDTO {
     private String customerId;
     private String firstName;
     private String lastName;
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate dateOfBirth;
+    @JsonIgnore
+    private Long version;
+
+    public CustomerDTO(UUID customerId, String firstName, String lastName, LocalDate dateOfBirth) {
+        this.customerId = customerId.toString();
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    public CustomerDTO(UUID customerId, String firstName, String lastName, LocalDate dateOfBirth, long version) {
+        this(customerId, firstName, lastName, dateOfBirth);
+        this.version = version;
+    }
 }
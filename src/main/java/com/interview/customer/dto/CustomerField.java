@@ -0,0 +1,87 @@
+package com.interview.customer.dto;
+
+import com.interview.customer.exceptions.InvalidFieldsException;
+import jakarta.persistence.Tuple;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A {@link CustomerDTO} property that can be requested with {@code fields=}, mapped to the entity attribute it is read
+ * from.
+ */
+public enum CustomerField {
+    CUSTOMER_ID("customerId", "customerId") {
+        @Override
+        public void copy(Tuple tuple, CustomerDTO customer) {
+            customer.setCustomerId(tuple.get(getAttribute(), UUID.class).toString());
+        }
+    },
+    FIRST_NAME("firstName", "firstName") {
+        @Override
+        public void copy(Tuple tuple, CustomerDTO customer) {
+            customer.setFirstName(tuple.get(getAttribute(), String.class));
+        }
+    },
+    LAST_NAME("lastName", "lastName") {
+        @Override
+        public void copy(Tuple tuple, CustomerDTO customer) {
+            customer.setLastName(tuple.get(getAttribute(), String.class));
+        }
+    },
+    DATE_OF_BIRTH("dateOfBirth", "dob") {
+        @Override
+        public void copy(Tuple tuple, CustomerDTO customer) {
+            customer.setDateOfBirth(tuple.get(getAttribute(), LocalDate.class));
+        }
+    };
+
+    private final String property;
+    private final String attribute;
+
+    CustomerField(String property, String attribute) {
+        this.property = property;
+        this.attribute = attribute;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public abstract void copy(Tuple tuple, CustomerDTO customer);
+
+    /**
+     * Parses a comma separated list of {@link CustomerDTO} property names.
+     *
+     * @return the requested fields, or {@code null} when no projection was requested
+     */
+    public static Set<CustomerField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        EnumSet<CustomerField> parsed = EnumSet.noneOf(CustomerField.class);
+        for (String name : fields.split(",")) {
+            parsed.add(fromProperty(name.strip()));
+        }
+        if (parsed.isEmpty()) {
+            // e.g. fields=, which would select no columns at all
+            throw new InvalidFieldsException("at least one field must be requested");
+        }
+        return parsed;
+    }
+
+    private static CustomerField fromProperty(String property) {
+        for (CustomerField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldsException("unknown field '" + property + "'");
+    }
+}
@@ -0,0 +1,13 @@
+package com.interview.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CustomerPageDTO {
+    private List<CustomerDTO> customers;
+    private String nextCursor;
+}
@@ -1,24 +1,50 @@
 package com.interview.customer.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.interview.customer.validation.CustomerName;
+import com.interview.customer.validation.DateOfBirth;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
 
 @Data
+@DateOfBirth(message = "Date of birth should be in yyyy-MM-dd format")
 public class CustomerRequestDTO {
 
     @NotBlank(message = "First name is mandatory")
-    @Pattern(regexp = "^[a-zA-Z]{1,255}$", message = "First name should contain only alphabets")
+    @CustomerName(message = "First name should contain only alphabets")
     private String firstName;
 
     @NotBlank(message = "Last name is mandatory")
-    @Pattern(regexp = "^[a-zA-Z]{1,255}$", message = "Last name should contain only alphabets")
+    @CustomerName(message = "Last name should contain only alphabets")
     private String lastName;
 
     @NotNull(message = "Date of birth is mandatory")
     @JsonFormat(pattern = "yyyy-MM-dd", shape = JsonFormat.Shape.STRING)
-    @Pattern(regexp = "^\\d{4}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01])$", message = "Date of birth should be in yyyy-MM-dd format")
     private String dob;
+
+    /**
+     * {@link #dob} as parsed by the {@link DateOfBirth} validator, {@code null} until it ran.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private LocalDate parsedDob;
+
+    public void setDob(String dob) {
+        this.dob = dob;
+        this.parsedDob = null;
+    }
+
+    /**
+     * The date of birth, reusing the validator's result when there is one.
+     */
+    public LocalDate dobAsLocalDate() {
+        return parsedDob != null ? parsedDob : LocalDate.parse(dob);
+    }
 }
@@ -0,0 +1,17 @@
+package com.interview.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerStatisticsDTO {
+    private long total;
+    private Map<Integer, Long> byBirthYear;
+    private Map<String, Long> byAgeBucket;
+    private List<LastNameCountDTO> topLastNames;
+    private Boolean consistent;
+}
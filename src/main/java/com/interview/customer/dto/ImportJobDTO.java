@@ -0,0 +1,25 @@
+package com.interview.customer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobDTO {
+    private UUID jobId;
+    private ImportStatus status;
+    private String format;
+    private String path;
+    private long bytesTotal;
+    private long bytesRead;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private double rowsPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String failure;
+}
@@ -0,0 +1,11 @@
+package com.interview.customer.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ImportRejectionDTO {
+    private long line;
+    private List<Error> errors;
+}
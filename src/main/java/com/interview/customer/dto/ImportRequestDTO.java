@@ -0,0 +1,19 @@
+package com.interview.customer.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class ImportRequestDTO {
+
+    /**
+     * File to import, relative to the configured import directory.
+     */
+    @NotBlank(message = "Path is mandatory")
+    private String path;
+
+    /**
+     * {@code csv} or {@code ndjson}; taken from the file extension when absent.
+     */
+    private String format;
+}
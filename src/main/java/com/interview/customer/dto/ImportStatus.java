@@ -0,0 +1,7 @@
+package com.interview.customer.dto;
+
+public enum ImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
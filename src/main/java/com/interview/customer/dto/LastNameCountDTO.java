@@ -0,0 +1,13 @@
+package com.interview.customer.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LastNameCountDTO {
+    private String lastName;
+    private long count;
+}
@@ -0,0 +1,17 @@
+package com.interview.customer.dto;
+
+import lombok.Data;
+
+@Data
+public class LatencyStatsDTO {
+    private String layer;
+    private String method;
+    private long count;
+    private long errors;
+    private double errorRate;
+    private double meanMicros;
+    private double p50Micros;
+    private double p99Micros;
+    private double p999Micros;
+    private double maxMicros;
+}
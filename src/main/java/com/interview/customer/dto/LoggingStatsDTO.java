@@ -0,0 +1,12 @@
+package com.interview.customer.dto;
+
+import lombok.Data;
+
+@Data
+public class LoggingStatsDTO {
+    private boolean async;
+    private int capacity;
+    private long buffered;
+    private long dropped;
+    private long sampledOut;
+}
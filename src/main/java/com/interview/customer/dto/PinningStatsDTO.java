@@ -0,0 +1,14 @@
+package com.interview.customer.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class PinningStatsDTO {
+    private boolean enabled;
+    private long thresholdMillis;
+    private long events;
+    private long pinnedMillis;
+    private Map<String, Long> sites;
+}
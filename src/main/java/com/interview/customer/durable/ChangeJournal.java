@@ -0,0 +1,347 @@
+package com.interview.customer.durable;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of customer changes since the last snapshot, fed by {@link com.interview.customer.changefeed.ChangeFeed}.
+ * <p>
+ * Writers append to a buffer under a lock and return; a flusher thread hands the buffer to the file and forces it to
+ * disk every {@code customers.durable.journal-flush-interval}, so a write never waits for the disk and a crash loses at
+ * most that interval of changes. Every snapshot starts a new file, named after the first sequence it holds, so the
+ * files older than the oldest retained snapshot can simply be deleted. After a restart the journal continues in a new
+ * file rather than after a record a crash may have torn.
+ * <p>
+ * The changes are already committed when they are appended, so a failed append is logged and counted rather than
+ * thrown at the request. It may have left a partial record in the buffer, so the journal is then broken: it stops
+ * writing to the file and forces the next snapshot, which covers every change up to it, and continues in a new file.
+ */
+@Component
+@Profile("durable")
+@Slf4j
+public class ChangeJournal {
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final ChangeType[] TYPES = ChangeType.values();
+
+    private final Path directory;
+    private final long flushIntervalNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+    private DataOutputStream out;
+    private long nextSequence;
+    private boolean broken;
+    private long failedAppends;
+    private volatile Thread flusher;
+
+    public ChangeJournal(CustomerProperties properties) {
+        this(Path.of(properties.getDurable().getDirectory()), properties.getDurable().getJournalFlushInterval().toNanos());
+    }
+
+    ChangeJournal(Path directory, long flushIntervalNanos) {
+        this.directory = directory;
+        this.flushIntervalNanos = flushIntervalNanos;
+    }
+
+    /**
+     * Records a change that has been committed. Changes made before the journal is {@link #open opened} are not
+     * recorded, which only happens if something writes before the restore has finished. Never throws: see the class
+     * comment for what happens when the file cannot be written.
+     */
+    public void append(ChangeType type, UUID customerId, CustomerDTO customer) {
+        lock.lock();
+        try {
+            if (out == null) {
+                log.warn("Change journal is not open, {} of customer {} is not journaled", type, customerId);
+                return;
+            }
+            long sequence = nextSequence++;
+            if (broken) {
+                failedAppends++;
+                return;
+            }
+            CustomerRow row = customer == null
+                    ? new CustomerRow(customerId, null, null, null, null)
+                    : CustomerRow.of(customerId, customer);
+            out.writeLong(sequence);
+            out.writeByte(type.ordinal());
+            row.writeTo(out);
+        } catch (IOException ex) {
+            failedAppends++;
+            markBroken("append of " + type + " of customer " + customerId, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Passes every journaled change after {@code sequence} to {@code entries} in sequence order. A file that ends in a
+     * torn record is read up to it.
+     *
+     * @return the last sequence in the journal, or {@code sequence} if there is none after it
+     */
+    long replay(long sequence, Consumer<JournalEntry> entries) throws IOException {
+        long last = sequence;
+        for (Path file : files()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+                while (true) {
+                    long entrySequence;
+                    try {
+                        entrySequence = in.readLong();
+                    } catch (EOFException end) {
+                        break;
+                    }
+                    JournalEntry entry;
+                    try {
+                        int type = in.readUnsignedByte();
+                        if (type >= TYPES.length) {
+                            throw new IOException("unknown change type " + type);
+                        }
+                        entry = new JournalEntry(entrySequence, TYPES[type], CustomerRow.readFrom(in));
+                    } catch (IOException torn) {
+                        log.warn("Change journal {} ends in a torn record after sequence {}: {}", file.getFileName(),
+                                entrySequence - 1, torn.toString());
+                        break;
+                    }
+                    if (entrySequence > sequence) {
+                        entries.accept(entry);
+                        last = Math.max(last, entrySequence);
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Starts a new file whose first change gets sequence {@code lastSequence + 1}, and the flusher.
+     */
+    void open(long lastSequence) throws IOException {
+        lock.lock();
+        try {
+            nextSequence = lastSequence + 1;
+            startFile();
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = Thread.ofPlatform().name("change-journal-flush").daemon().unstarted(this::flushPeriodically);
+        flusher = thread;
+        thread.start();
+    }
+
+    /**
+     * Forces the current file to disk and continues in a new one.
+     *
+     * @return the sequence of the last change in the files before the new one
+     */
+    long rotate() throws IOException {
+        lock.lock();
+        try {
+            if (broken) {
+                discardFile();
+                broken = false;
+                log.warn("Change journal continues in a new file, the snapshot now being taken covers the {} changes "
+                        + "it could not record", failedAppends);
+            } else {
+                try {
+                    closeFile();
+                } catch (IOException ex) {
+                    markBroken("rotation", ex);
+                    throw ex;
+                }
+            }
+            startFile();
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the files that hold no change after {@code sequence}.
+     */
+    void prune(long sequence) throws IOException {
+        List<Path> files = files();
+        for (int i = 0; i + 1 < files.size(); i++) {
+            if (firstSequence(files.get(i + 1)) <= sequence + 1) {
+                Files.deleteIfExists(files.get(i));
+            }
+        }
+    }
+
+    void close() throws IOException {
+        Thread current = flusher;
+        flusher = null;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+        lock.lock();
+        try {
+            if (broken) {
+                discardFile();
+            } else {
+                closeFile();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether an append or flush failed since the last rotation, so the next snapshot has to be taken even when it
+     * looks like nothing changed.
+     */
+    boolean isBroken() {
+        lock.lock();
+        try {
+            return broken;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The changes that were not journaled because an append failed or came after one that did.
+     */
+    long failedAppends() {
+        lock.lock();
+        try {
+            return failedAppends;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastSequence() {
+        lock.lock();
+        try {
+            return nextSequence - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void flush() throws IOException {
+        FileChannel current;
+        lock.lock();
+        try {
+            if (out == null || broken) {
+                return;
+            }
+            try {
+                out.flush();
+            } catch (IOException ex) {
+                markBroken("flush", ex);
+                throw ex;
+            }
+            current = channel;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            current.force(false);
+        } catch (ClosedChannelException rotated) {
+            // the rotation forced it before closing
+        }
+    }
+
+    private void flushPeriodically() {
+        while (flusher == Thread.currentThread()) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                flush();
+            } catch (IOException ex) {
+                log.error("Change journal flush failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    // callers hold the lock
+    private void markBroken(String operation, IOException ex) {
+        if (!broken) {
+            broken = true;
+            log.error("Change journal {} failed, journaling stops until the next snapshot: {}", operation,
+                    ex.toString());
+        }
+    }
+
+    // callers hold the lock
+    private void startFile() throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, nextSequence, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    }
+
+    // callers hold the lock
+    private void closeFile() throws IOException {
+        if (out != null) {
+            out.flush();
+            channel.force(false);
+            out.close();
+            out = null;
+            channel = null;
+        }
+    }
+
+    /**
+     * Closes a broken file without flushing the buffer, which may end in a partial record. Replay reads the file up to
+     * where it was torn.
+     */
+    // callers hold the lock
+    private void discardFile() {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            log.warn("Closing the broken change journal failed: {}", ex.toString());
+        }
+        out = null;
+        channel = null;
+    }
+
+    private List<Path> files() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(ChangeJournal::firstSequence))
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.interview.customer.durable;
+
+import com.interview.customer.dto.CustomerDTO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One stored customer as snapshots and the change journal write it: the id as two longs, then a byte of flags saying
+ * which of the names, date of birth and version follow. Values are kept as the columns hold them, so loading a row
+ * parses nothing.
+ */
+record CustomerRow(UUID id, String firstName, String lastName, LocalDate dob, Long version) {
+
+    private static final int FIRST_NAME = 1;
+    private static final int LAST_NAME = 1 << 1;
+    private static final int DATE_OF_BIRTH = 1 << 2;
+    private static final int VERSION = 1 << 3;
+
+    static CustomerRow of(UUID id, CustomerDTO customer) {
+        return new CustomerRow(id, customer.getFirstName(), customer.getLastName(), customer.getDateOfBirth(),
+                customer.getVersion());
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        int flags = (firstName != null ? FIRST_NAME : 0)
+                | (lastName != null ? LAST_NAME : 0)
+                | (dob != null ? DATE_OF_BIRTH : 0)
+                | (version != null ? VERSION : 0);
+        out.writeByte(flags);
+        if (firstName != null) {
+            out.writeUTF(firstName);
+        }
+        if (lastName != null) {
+            out.writeUTF(lastName);
+        }
+        if (dob != null) {
+            out.writeInt((int) dob.toEpochDay());
+        }
+        if (version != null) {
+            out.writeLong(version);
+        }
+    }
+
+    static CustomerRow readFrom(DataInput in) throws IOException {
+        UUID id = new UUID(in.readLong(), in.readLong());
+        int flags = in.readUnsignedByte();
+        String firstName = (flags & FIRST_NAME) != 0 ? in.readUTF() : null;
+        String lastName = (flags & LAST_NAME) != 0 ? in.readUTF() : null;
+        LocalDate dob = (flags & DATE_OF_BIRTH) != 0 ? LocalDate.ofEpochDay(in.readInt()) : null;
+        Long version = (flags & VERSION) != 0 ? in.readLong() : null;
+        return new CustomerRow(id, firstName, lastName, dob, version);
+    }
+}
@@ -0,0 +1,169 @@
+package com.interview.customer.durable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A snapshot file of the customer table, named after the last journal sequence it is known to contain.
+ * <p>
+ * The file is a header of magic, format and that sequence, then every customer in id order as a {@code 1} byte and a
+ * {@link CustomerRow}, then a {@code 0} byte and the row count. It is written under a temporary name, forced to disk
+ * and renamed into place, so a snapshot that is listed is complete; the trailer still catches one damaged later.
+ * <p>
+ * The customers are read with ordinary statements while writes go on, so a snapshot can also hold some changes made
+ * after its sequence. Replaying the journal from that sequence brings every customer to its latest state either way.
+ */
+final class CustomerSnapshot {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+    private static final int MAGIC = 0x43534E50;
+    private static final int FORMAT = 1;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path file;
+    private final long journalSequence;
+
+    private CustomerSnapshot(Path file, long journalSequence) {
+        this.file = file;
+        this.journalSequence = journalSequence;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long journalSequence() {
+        return journalSequence;
+    }
+
+    /**
+     * The snapshots in {@code directory}, newest first.
+     */
+    static List<CustomerSnapshot> list(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .map(file -> {
+                        String name = file.getFileName().toString();
+                        return new CustomerSnapshot(file,
+                                Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                    })
+                    .sorted(Comparator.comparingLong(CustomerSnapshot::journalSequence).reversed())
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static Writer create(Path directory, long journalSequence) throws IOException {
+        Files.createDirectories(directory);
+        return new Writer(directory, journalSequence);
+    }
+
+    /**
+     * Passes every customer to {@code rows} in id order.
+     *
+     * @return the number of customers read
+     * @throws IOException when the file is not a snapshot of this sequence, or ends before its trailer
+     */
+    long read(RowConsumer rows) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT || in.readLong() != journalSequence) {
+                throw new IOException(file + " is not a snapshot at journal sequence " + journalSequence);
+            }
+            long count = 0;
+            while (in.readByte() != 0) {
+                rows.accept(CustomerRow.readFrom(in));
+                count++;
+            }
+            long expected = in.readLong();
+            if (expected != count) {
+                throw new IOException(file + " holds " + count + " customers, its trailer says " + expected);
+            }
+            return count;
+        } catch (EOFException ex) {
+            throw new IOException(file + " is truncated", ex);
+        }
+    }
+
+    @FunctionalInterface
+    interface RowConsumer {
+        void accept(CustomerRow row) throws IOException;
+    }
+
+    static final class Writer implements AutoCloseable {
+
+        private final Path target;
+        private final Path temporary;
+        private final long journalSequence;
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private long count;
+        private boolean committed;
+
+        private Writer(Path directory, long journalSequence) throws IOException {
+            String name = String.format("%s%020d%s", PREFIX, journalSequence, SUFFIX);
+            this.target = directory.resolve(name);
+            this.temporary = directory.resolve(name + ".tmp");
+            this.journalSequence = journalSequence;
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(journalSequence);
+        }
+
+        void append(CustomerRow row) throws IOException {
+            out.writeByte(1);
+            row.writeTo(out);
+            count++;
+        }
+
+        long count() {
+            return count;
+        }
+
+        /**
+         * Writes the trailer, forces the file to disk and moves it into place.
+         */
+        CustomerSnapshot commit() throws IOException {
+            out.writeByte(0);
+            out.writeLong(count);
+            out.flush();
+            channel.force(true);
+            out.close();
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committed = true;
+            return new CustomerSnapshot(target, journalSequence);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
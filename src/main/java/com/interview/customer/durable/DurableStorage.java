@@ -0,0 +1,384 @@
+package com.interview.customer.durable;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.models.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the file-backed database of the {@code durable} profile restorable from snapshots and the change journal.
+ * <p>
+ * On startup, ahead of the statistics and the web server, an empty database is bulk loaded from the latest readable
+ * snapshot, and the journal after that snapshot is replayed on top. The replay also runs when the database file
+ * survived, since a crash can leave it without the last commits its write delay had not yet flushed. Changes are
+ * journaled after they commit, so two writes to one customer can be journaled out of order; the replay therefore keeps
+ * the change with the highest version of each customer, a deletion over any of them, and only writes it over a stored
+ * row with a lower version. Applying a change twice, or one the database already has, does no harm.
+ * <p>
+ * A snapshot is taken every {@code customers.durable.snapshot-interval} when there were changes since the last one, and
+ * only the newest {@code retained-snapshots} are kept with the journal files they still need.
+ */
+@Component
+@Profile("durable")
+@Slf4j
+public class DurableStorage implements SmartLifecycle {
+
+    // before CustomerStatistics and GroupCommitWriter (DEFAULT_PHASE - 4096), so they start on the restored table
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 8192;
+    private static final int PAGE_SIZE = 10_000;
+    private static final String COLUMNS =
+            "CUSTOMER_ID, FIRST_NAME, LAST_NAME, FIRST_NAME_NORMALIZED, LAST_NAME_NORMALIZED, DATE_OF_BIRTH, VERSION";
+    private static final String INSERT = "INSERT INTO CUSTOMER (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE CUSTOMER SET FIRST_NAME = ?, LAST_NAME = ?, FIRST_NAME_NORMALIZED = ?, "
+            + "LAST_NAME_NORMALIZED = ?, DATE_OF_BIRTH = ?, VERSION = ? WHERE CUSTOMER_ID = ? AND VERSION < ?";
+    private static final String EXISTS = "SELECT 1 FROM CUSTOMER WHERE CUSTOMER_ID = ?";
+    private static final String DELETE = "DELETE FROM CUSTOMER WHERE CUSTOMER_ID = ?";
+    private static final String SCAN = "SELECT CUSTOMER_ID, FIRST_NAME, LAST_NAME, DATE_OF_BIRTH, VERSION FROM CUSTOMER "
+            + "WHERE CUSTOMER_ID > ? ORDER BY CUSTOMER_ID LIMIT ?";
+    private static final String SECONDARY_INDEXES = "SELECT I.INDEX_NAME, C.COLUMN_NAME "
+            + "FROM INFORMATION_SCHEMA.INDEXES I JOIN INFORMATION_SCHEMA.INDEX_COLUMNS C "
+            + "ON C.INDEX_SCHEMA = I.INDEX_SCHEMA AND C.INDEX_NAME = I.INDEX_NAME "
+            + "WHERE I.TABLE_SCHEMA = SCHEMA() AND I.TABLE_NAME = 'CUSTOMER' AND I.INDEX_TYPE_NAME = 'INDEX' "
+            + "ORDER BY I.INDEX_NAME, C.ORDINAL_POSITION";
+    // sorts before every generated id, like JpaCustomerStore's first page
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final DataSource dataSource;
+    private final ChangeJournal journal;
+    private final Path directory;
+    private final long snapshotIntervalMillis;
+    private final int retainedSnapshots;
+    private final int loadBatchSize;
+    private ScheduledExecutorService scheduler;
+    private long lastSnapshotSequence;
+    private volatile boolean running;
+
+    public DurableStorage(DataSource dataSource, ChangeJournal journal, CustomerProperties properties) {
+        CustomerProperties.Durable durable = properties.getDurable();
+        this.dataSource = dataSource;
+        this.journal = journal;
+        this.directory = Path.of(durable.getDirectory());
+        this.snapshotIntervalMillis = durable.getSnapshotInterval().toMillis();
+        this.retainedSnapshots = Math.max(1, durable.getRetainedSnapshots());
+        this.loadBatchSize = durable.getLoadBatchSize();
+    }
+
+    @Override
+    public void start() {
+        try {
+            restore();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Restoring customers failed", ex);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("customer-snapshots").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMillis, snapshotIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            journal.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            log.error("Closing the change journal failed: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Loads the latest readable snapshot into an empty table and replays the journal after it.
+     */
+    void restore() throws IOException, SQLException {
+        long start = System.nanoTime();
+        List<CustomerSnapshot> snapshots = CustomerSnapshot.list(directory);
+        long sequence = snapshots.isEmpty() ? 0 : snapshots.getFirst().journalSequence();
+        if (isEmpty()) {
+            sequence = 0;
+            for (CustomerSnapshot snapshot : snapshots) {
+                try {
+                    long loaded = load(snapshot);
+                    sequence = snapshot.journalSequence();
+                    log.info("Loaded {} customers from {} in {} ms", loaded, snapshot.file().getFileName(),
+                            (System.nanoTime() - start) / 1_000_000);
+                    break;
+                } catch (IOException ex) {
+                    log.error("Snapshot {} is unreadable, trying an older one: {}", snapshot.file().getFileName(),
+                            ex.getMessage());
+                    truncate();
+                }
+            }
+            if (sequence == 0 && !snapshots.isEmpty()) {
+                // the journal before the oldest snapshot has been pruned, so it alone cannot rebuild the table
+                throw new IOException("None of the " + snapshots.size() + " snapshots in " + directory + " is readable");
+            }
+        }
+        lastSnapshotSequence = sequence;
+
+        Map<UUID, JournalEntry> latest = new LinkedHashMap<>();
+        long lastSequence = journal.replay(sequence,
+                entry -> latest.merge(entry.row().id(), entry, DurableStorage::newer));
+        replay(latest.values());
+        journal.open(lastSequence);
+        log.info("Replayed {} changed customers after journal sequence {}, ready after {} ms", latest.size(), sequence,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Writes a snapshot unless nothing changed since the last one and the journal recorded every change, then drops the
+     * snapshots and journal files that are no longer needed.
+     */
+    void snapshot() throws IOException, SQLException {
+        if (journal.lastSequence() == lastSnapshotSequence && !journal.isBroken()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long sequence = journal.rotate();
+        CustomerSnapshot snapshot;
+        long count;
+        try (CustomerSnapshot.Writer writer = CustomerSnapshot.create(directory, sequence);
+             Connection connection = dataSource.getConnection();
+             PreparedStatement scan = connection.prepareStatement(SCAN)) {
+            // commits before the rotation reach the database file now rather than after its write delay, so a restart
+            // that keeps the file only has to replay the journal from this snapshot on
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CHECKPOINT");
+            }
+            UUID after = FIRST_ID;
+            int rows;
+            do {
+                rows = 0;
+                scan.setObject(1, after);
+                scan.setInt(2, PAGE_SIZE);
+                try (ResultSet page = scan.executeQuery()) {
+                    while (page.next()) {
+                        after = page.getObject(1, UUID.class);
+                        writer.append(new CustomerRow(after, page.getString(2), page.getString(3),
+                                page.getObject(4, LocalDate.class), page.getObject(5, Long.class)));
+                        rows++;
+                    }
+                }
+            } while (rows == PAGE_SIZE);
+            count = writer.count();
+            snapshot = writer.commit();
+        }
+        lastSnapshotSequence = sequence;
+        log.info("Wrote {} customers to {} in {} ms", count, snapshot.file().getFileName(),
+                (System.nanoTime() - start) / 1_000_000);
+
+        List<CustomerSnapshot> snapshots = CustomerSnapshot.list(directory);
+        for (CustomerSnapshot old : snapshots.subList(Math.min(retainedSnapshots, snapshots.size()), snapshots.size())) {
+            Files.deleteIfExists(old.file());
+        }
+        journal.prune(snapshots.get(Math.min(retainedSnapshots, snapshots.size()) - 1).journalSequence());
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | SQLException | RuntimeException ex) {
+            log.error("Customer snapshot failed: {}", ex.getMessage());
+        }
+    }
+
+    private boolean isEmpty() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT 1 FROM CUSTOMER LIMIT 1")) {
+            return !rows.next();
+        }
+    }
+
+    private void truncate() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE TABLE CUSTOMER");
+        }
+    }
+
+    /**
+     * Inserts the snapshot in id order through one prepared statement in large batches, with the secondary indexes
+     * dropped meanwhile: appending in primary key order only ever touches the last page of the table, and each index
+     * is then built once by sorting the loaded rows instead of being updated a row at a time.
+     */
+    private long load(CustomerSnapshot snapshot) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            Map<String, List<String>> indexes = secondaryIndexes(connection);
+            try (Statement statement = connection.createStatement()) {
+                for (String index : indexes.keySet()) {
+                    statement.execute("DROP INDEX " + index);
+                }
+            }
+            long loaded;
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                int[] batched = {0};
+                loaded = snapshot.read(row -> {
+                    try {
+                        bindInsert(insert, row);
+                        insert.addBatch();
+                        if (++batched[0] == loadBatchSize) {
+                            insert.executeBatch();
+                            connection.commit();
+                            batched[0] = 0;
+                        }
+                    } catch (SQLException ex) {
+                        throw new IOException(ex);
+                    }
+                });
+                insert.executeBatch();
+                connection.commit();
+            } catch (IOException | SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                try (Statement statement = connection.createStatement()) {
+                    for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+                        statement.execute("CREATE INDEX " + index.getKey() + " ON CUSTOMER ("
+                                + String.join(", ", index.getValue()) + ")");
+                    }
+                }
+            }
+            return loaded;
+        }
+    }
+
+    private static Map<String, List<String>> secondaryIndexes(Connection connection) throws SQLException {
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet columns = statement.executeQuery(SECONDARY_INDEXES)) {
+            while (columns.next()) {
+                indexes.computeIfAbsent(columns.getString(1), name -> new ArrayList<>()).add(columns.getString(2));
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * The change that leaves a customer in its latest state: a deletion, since ids are never reused, or else the one
+     * with the higher version, the later journaled on a tie.
+     */
+    static JournalEntry newer(JournalEntry journaled, JournalEntry next) {
+        if (journaled.type() == ChangeType.DELETED) {
+            return journaled;
+        }
+        if (next.type() == ChangeType.DELETED) {
+            return next;
+        }
+        return version(next.row()) >= version(journaled.row()) ? next : journaled;
+    }
+
+    /**
+     * Applies the latest journaled change of each customer in one transaction: deletions, then updates of the rows
+     * stored at a lower version, then inserts of those that are not stored at all.
+     */
+    private void replay(Iterable<JournalEntry> changes) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement(DELETE);
+                 PreparedStatement update = connection.prepareStatement(UPDATE);
+                 PreparedStatement exists = connection.prepareStatement(EXISTS);
+                 PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                List<CustomerRow> upserts = new ArrayList<>();
+                for (JournalEntry change : changes) {
+                    if (change.type() == ChangeType.DELETED) {
+                        delete.setObject(1, change.row().id());
+                        delete.addBatch();
+                    } else {
+                        CustomerRow row = change.row();
+                        update.setString(1, row.firstName());
+                        update.setString(2, row.lastName());
+                        update.setString(3, Customer.normalizeName(row.firstName()));
+                        update.setString(4, Customer.normalizeName(row.lastName()));
+                        update.setObject(5, row.dob());
+                        update.setLong(6, version(row));
+                        update.setObject(7, row.id());
+                        update.setLong(8, version(row));
+                        update.addBatch();
+                        upserts.add(row);
+                    }
+                }
+                delete.executeBatch();
+                int[] updated = update.executeBatch();
+                for (int i = 0; i < updated.length; i++) {
+                    // not updated either because it is missing or because it is stored at this version or later
+                    if (updated[i] == 0 && !exists(exists, upserts.get(i).id())) {
+                        bindInsert(insert, upserts.get(i));
+                        insert.addBatch();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static boolean exists(PreparedStatement exists, UUID customerId) throws SQLException {
+        exists.setObject(1, customerId);
+        try (ResultSet rows = exists.executeQuery()) {
+            return rows.next();
+        }
+    }
+
+    private static long version(CustomerRow row) {
+        return row.version() == null ? 0 : row.version();
+    }
+
+    private static void bindInsert(PreparedStatement insert, CustomerRow row) throws SQLException {
+        insert.setObject(1, row.id());
+        insert.setString(2, row.firstName());
+        insert.setString(3, row.lastName());
+        insert.setString(4, Customer.normalizeName(row.firstName()));
+        insert.setString(5, Customer.normalizeName(row.lastName()));
+        insert.setObject(6, row.dob());
+        insert.setLong(7, version(row));
+    }
+}
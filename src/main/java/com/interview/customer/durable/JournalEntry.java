@@ -0,0 +1,9 @@
+package com.interview.customer.durable;
+
+import com.interview.customer.dto.ChangeType;
+
+/**
+ * One change in the journal. A deletion carries only the customer id.
+ */
+record JournalEntry(long sequence, ChangeType type, CustomerRow row) {
+}
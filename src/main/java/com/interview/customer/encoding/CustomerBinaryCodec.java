@@ -0,0 +1,277 @@
+package com.interview.customer.encoding;
+
+import com.interview.customer.dto.CustomerDTO;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary form of {@link CustomerDTO}, served for {@value #MEDIA_TYPE}.
+ * <p>
+ * A customer is one byte of flags saying which fields follow, then the present fields in order: the id as 16 raw bytes,
+ * first and last name as a varint byte length and UTF-8, and the date of birth as zig-zag varint epoch days. Fields left
+ * out by a projection are simply absent. A list is a varint count followed by that many customers. The version is not
+ * encoded; it travels in the ETag header as with JSON.
+ * <p>
+ * Both directions go through a private buffer rather than a {@code DataOutput}, so a customer costs a few array stores
+ * instead of a stream call per field. Neither closes the stream.
+ */
+public final class CustomerBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-customer-binary";
+
+    private static final int ID = 1;
+    private static final int FIRST_NAME = 1 << 1;
+    private static final int LAST_NAME = 1 << 2;
+    private static final int DATE_OF_BIRTH = 1 << 3;
+    private static final int MAX_STRING_BYTES = 1 << 16;
+    private static final int BUFFER_SIZE = 8192;
+
+    private CustomerBinaryCodec() {
+    }
+
+    public static void writeCustomers(List<CustomerDTO> customers, OutputStream out) throws IOException {
+        Encoder encoder = new Encoder(out);
+        encoder.varint(customers.size());
+        for (CustomerDTO customer : customers) {
+            encoder.customer(customer);
+        }
+        encoder.flush();
+    }
+
+    public static void writeCustomer(CustomerDTO customer, OutputStream out) throws IOException {
+        Encoder encoder = new Encoder(out);
+        encoder.customer(customer);
+        encoder.flush();
+    }
+
+    public static List<CustomerDTO> readCustomers(InputStream in) throws IOException {
+        Decoder decoder = new Decoder(in);
+        long count = decoder.varint();
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("Customer count " + count + " is too large");
+        }
+        // not presized from the count, which comes from the sender
+        List<CustomerDTO> customers = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            customers.add(decoder.customer());
+        }
+        return customers;
+    }
+
+    public static CustomerDTO readCustomer(InputStream in) throws IOException {
+        return new Decoder(in).customer();
+    }
+
+    private static final class Encoder {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+
+        Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        void customer(CustomerDTO customer) throws IOException {
+            // flags and id; names and the date make room for themselves
+            ensure(1 + 16);
+            int flags = (customer.getCustomerId() != null ? ID : 0)
+                    | (customer.getFirstName() != null ? FIRST_NAME : 0)
+                    | (customer.getLastName() != null ? LAST_NAME : 0)
+                    | (customer.getDateOfBirth() != null ? DATE_OF_BIRTH : 0);
+            buffer[position++] = (byte) flags;
+            if (customer.getCustomerId() != null) {
+                UUID id = UUID.fromString(customer.getCustomerId());
+                longBigEndian(id.getMostSignificantBits());
+                longBigEndian(id.getLeastSignificantBits());
+            }
+            if (customer.getFirstName() != null) {
+                string(customer.getFirstName());
+            }
+            if (customer.getLastName() != null) {
+                string(customer.getLastName());
+            }
+            if (customer.getDateOfBirth() != null) {
+                long epochDay = customer.getDateOfBirth().toEpochDay();
+                varint((epochDay << 1) ^ (epochDay >> 63));
+            }
+        }
+
+        private void string(String value) throws IOException {
+            int length = value.length();
+            if (length <= BUFFER_SIZE - 5) {
+                // ASCII names are copied char by char; anything else is rewound and encoded properly
+                ensure(5 + length);
+                int start = position;
+                putVarint(length);
+                int i = 0;
+                while (i < length) {
+                    char c = value.charAt(i);
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buffer[position++] = (byte) c;
+                    i++;
+                }
+                if (i == length) {
+                    return;
+                }
+                position = start;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            if (bytes.length > buffer.length - position) {
+                flush();
+                out.write(bytes);
+            } else {
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+
+        private void longBigEndian(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void varint(long value) throws IOException {
+            ensure(10);
+            putVarint(value);
+        }
+
+        private void putVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.length - position < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static final class Decoder {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        Decoder(InputStream in) {
+            this.in = in;
+        }
+
+        CustomerDTO customer() throws IOException {
+            int flags = next();
+            if ((flags & ~(ID | FIRST_NAME | LAST_NAME | DATE_OF_BIRTH)) != 0) {
+                throw new IOException("Unknown customer field flags " + Integer.toBinaryString(flags));
+            }
+            CustomerDTO customer = new CustomerDTO();
+            if ((flags & ID) != 0) {
+                require(16);
+                customer.setCustomerId(new UUID(longBigEndian(), longBigEndian()).toString());
+            }
+            if ((flags & FIRST_NAME) != 0) {
+                customer.setFirstName(string());
+            }
+            if ((flags & LAST_NAME) != 0) {
+                customer.setLastName(string());
+            }
+            if ((flags & DATE_OF_BIRTH) != 0) {
+                long zigZag = varint();
+                long epochDay = (zigZag >>> 1) ^ -(zigZag & 1);
+                try {
+                    customer.setDateOfBirth(LocalDate.ofEpochDay(epochDay));
+                } catch (DateTimeException ex) {
+                    throw new IOException("Epoch day " + epochDay + " is out of range", ex);
+                }
+            }
+            return customer;
+        }
+
+        private String string() throws IOException {
+            long length = varint();
+            if (length > MAX_STRING_BYTES) {
+                throw new IOException("String length " + length + " is too large");
+            }
+            int bytes = (int) length;
+            if (bytes <= buffer.length) {
+                require(bytes);
+                String value = new String(buffer, position, bytes, StandardCharsets.UTF_8);
+                position += bytes;
+                return value;
+            }
+            byte[] value = new byte[bytes];
+            int copied = limit - position;
+            System.arraycopy(buffer, position, value, 0, copied);
+            position = limit;
+            if (in.readNBytes(value, copied, bytes - copied) != bytes - copied) {
+                throw new EOFException();
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+
+        private long longBigEndian() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        long varint() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = next();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private int next() throws IOException {
+            require(1);
+            return buffer[position++] & 0xFF;
+        }
+
+        /**
+         * Makes the next {@code bytes} bytes, at most a buffer's worth, available from {@code position}.
+         */
+        private void require(int bytes) throws IOException {
+            if (limit - position >= bytes) {
+                return;
+            }
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+            while (limit < bytes) {
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    throw new EOFException();
+                }
+                limit += read;
+            }
+        }
+    }
+}
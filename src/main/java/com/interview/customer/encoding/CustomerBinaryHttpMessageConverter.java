@@ -0,0 +1,83 @@
+package com.interview.customer.encoding;
+
+import com.interview.customer.dto.CustomerDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes a {@link CustomerDTO} or a {@code List<CustomerDTO>} in the {@link CustomerBinaryCodec} format.
+ */
+public class CustomerBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(CustomerBinaryCodec.MEDIA_TYPE);
+
+    public CustomerBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    /**
+     * Any list passes here because the producible media types are looked up by the raw body class; the generic
+     * {@code canRead} and {@code canWrite} below check that it is a list of customers.
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CustomerDTO.class == clazz || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return isCustomers(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return (type != null ? isCustomers(type) : CustomerDTO.class == clazz) && canWrite(mediaType);
+    }
+
+    private static boolean isCustomers(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (resolved.resolve() == CustomerDTO.class) {
+            return true;
+        }
+        return List.class.isAssignableFrom(resolved.toClass())
+                && resolved.asCollection().getGeneric().resolve() == CustomerDTO.class;
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        InputStream in = inputMessage.getBody();
+        try {
+            return ResolvableType.forType(type).resolve() == CustomerDTO.class
+                    ? CustomerBinaryCodec.readCustomer(in)
+                    : CustomerBinaryCodec.readCustomers(in);
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Malformed customer binary body: " + ex.getMessage(), ex,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (body instanceof CustomerDTO customer) {
+            CustomerBinaryCodec.writeCustomer(customer, outputMessage.getBody());
+        } else {
+            CustomerBinaryCodec.writeCustomers((List<CustomerDTO>) body, outputMessage.getBody());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.interview.customer.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class EncodingConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Replaces the auto-configured Jackson converter so that {@code server.compression.min-response-size} also holds
+     * for JSON bodies.
+     */
+    @Bean
+    public SizedJsonHttpMessageConverter sizedJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                       ServerProperties serverProperties) {
+        Compression compression = serverProperties.getCompression();
+        return new SizedJsonHttpMessageConverter(objectMapper,
+                compression.getEnabled() ? (int) compression.getMinResponseSize().toBytes() : 0);
+    }
+
+    /**
+     * Added after Jackson, so JSON is still chosen when the client accepts either; the binary form is only served to
+     * an Accept header that prefers {@value CustomerBinaryCodec#MEDIA_TYPE}. Error bodies are JSON only, so a binary
+     * client should also accept {@code application/json} with a lower quality to see them.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CustomerBinaryHttpMessageConverter());
+    }
+}
@@ -0,0 +1,95 @@
+package com.interview.customer.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that holds a body back until it reaches {@code minResponseSize} bytes. A body that stays below it
+ * goes out with a Content-Length, which is what lets the server leave it uncompressed: the converter flushes every body
+ * before it is complete, and Tomcat compresses any response whose length it does not know at that point.
+ * <p>
+ * Bodies at or above the threshold are written through as before once the threshold is crossed.
+ */
+public class SizedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final int minResponseSize;
+
+    public SizedJsonHttpMessageConverter(ObjectMapper objectMapper, int minResponseSize) {
+        super(objectMapper);
+        this.minResponseSize = minResponseSize;
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (minResponseSize <= 0) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        HeldBackBody body = new HeldBackBody(outputMessage);
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        body.finish();
+    }
+
+    private final class HeldBackBody extends OutputStream {
+
+        private final HttpOutputMessage target;
+        private ByteArrayOutputStream held = new ByteArrayOutputStream(256);
+        private OutputStream passThrough;
+
+        HeldBackBody(HttpOutputMessage target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (passThrough == null && held.size() + length >= minResponseSize) {
+                passThrough = target.getBody();
+                held.writeTo(passThrough);
+                held = null;
+            }
+            if (passThrough != null) {
+                passThrough.write(bytes, offset, length);
+            } else {
+                held.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // a flush while the body is held back would commit the response without its length
+            if (passThrough != null) {
+                passThrough.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (passThrough == null) {
+                target.getHeaders().setContentLength(held.size());
+                held.writeTo(target.getBody());
+            }
+        }
+    }
+}
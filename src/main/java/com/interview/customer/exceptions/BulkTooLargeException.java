@@ -0,0 +1,7 @@
+package com.interview.customer.exceptions;
+
+public class BulkTooLargeException extends RuntimeException {
+    public BulkTooLargeException(String message) {
+        super(message);
+    }
+}
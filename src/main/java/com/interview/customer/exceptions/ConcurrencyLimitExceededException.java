@@ -0,0 +1,11 @@
+package com.interview.customer.exceptions;
+
+/**
+ * Thrown to shed a request while the database is saturated, when it has to stay as cheap as possible, so no stack
+ * trace is captured.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    public ConcurrencyLimitExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
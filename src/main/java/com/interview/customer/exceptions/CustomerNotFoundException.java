@@ -1,7 +1,11 @@
 package com.interview.customer.exceptions;
 
+/**
+ * Thrown for every lookup of a missing id, which is routine traffic rather than a failure, so no stack trace is
+ * captured.
+ */
 public class CustomerNotFoundException extends RuntimeException {
     public CustomerNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,7 @@
+package com.interview.customer.exceptions;
+
+public class CustomerVersionMismatchException extends RuntimeException {
+    public CustomerVersionMismatchException(String message) {
+        super(message);
+    }
+}
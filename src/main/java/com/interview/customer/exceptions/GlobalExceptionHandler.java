@@ -2,6 +2,7 @@ package com.interview.customer.exceptions;
 
 import com.interview.customer.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import com.interview.customer.dto.Error;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,9 +21,21 @@ import java.util.List;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    // lookups of stale ids or a misbehaving client can produce any of these by the thousand, and one line per second
+    // per exception type is enough to notice them
+    private static final Duration LOG_INTERVAL = Duration.ofSeconds(1);
+
+    private final ClassValue<LogRateLimiter> errorLogs = new ClassValue<>() {
+        @Override
+        protected LogRateLimiter computeValue(Class<?> type) {
+            return new LogRateLimiter(LOG_INTERVAL);
+        }
+    };
+    private final LogRateLimiter sheddingLog = new LogRateLimiter(LOG_INTERVAL);
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
-            log.error("MethodArgumentNotValidException occurred: {}", ex.getMessage());
+            logError(ex);
             ErrorResponse errorResponse = new ErrorResponse();
             if(!ex.getBindingResult().getAllErrors().isEmpty()) {
                 errorResponse.setMessage("Validation failed");
@@ -42,7 +56,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CustomerNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFoundException(CustomerNotFoundException ex){
-        log.error("CustomerNotFoundException occurred : {}", ex.getMessage());
+        logError(ex);
         ErrorResponse errorResponse = new ErrorResponse();
         errorResponse.setMessage(ex.getMessage());
         errorResponse.setStatusCode(HttpStatus.NOT_FOUND.value());
@@ -50,10 +64,113 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler(CustomerVersionMismatchException.class)
+    public ErrorResponse handleCustomerVersionMismatchException(CustomerVersionMismatchException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.PRECONDITION_FAILED.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public ErrorResponse handleInvalidCursorException(InvalidCursorException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(BulkTooLargeException.class)
+    public ErrorResponse handleBulkTooLargeException(BulkTooLargeException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(LookupTooLargeException.class)
+    public ErrorResponse handleLookupTooLargeException(LookupTooLargeException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ErrorResponse handleInvalidFieldsException(InvalidFieldsException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidSearchException.class)
+    public ErrorResponse handleInvalidSearchException(InvalidSearchException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidImportException.class)
+    public ErrorResponse handleInvalidImportException(InvalidImportException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ErrorResponse handleImportJobNotFoundException(ImportJobNotFoundException ex){
+        logError(ex);
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.NOT_FOUND.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return errorResponse;
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException ex){
+        long suppressed = sheddingLog.tryAcquire();
+        if (suppressed >= 0) {
+            log.warn("ConcurrencyLimitExceededException occurred : {} ({} more since the last one logged)", ex.getMessage(), suppressed);
+        }
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorResponse.setTimestamp(LocalDate.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ErrorResponse handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex){
-        log.error("MethodArgumentTypeMismatchException occurred: {}", ex.getMessage());
+        logError(ex);
         ErrorResponse errorResponse = new ErrorResponse();
         errorResponse.setMessage(ex.getLocalizedMessage());
         errorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
@@ -64,7 +181,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex){
-        log.error("Exception occurred: {}", ex.getMessage());
+        logError(ex);
         ErrorResponse errorResponse = new ErrorResponse();
         errorResponse.setMessage(ex.getMessage());
         errorResponse.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR.value());
@@ -72,4 +189,11 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
-}
\ No newline at end of file
+    private void logError(Exception ex) {
+        long suppressed = errorLogs.get(ex.getClass()).tryAcquire();
+        if (suppressed >= 0) {
+            log.error("{} occurred: {} ({} more since the last one logged)", ex.getClass().getSimpleName(), ex.getMessage(),
+                    suppressed);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.interview.customer.exceptions;
+
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.interview.customer.exceptions;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.interview.customer.exceptions;
+
+public class InvalidSearchException extends RuntimeException {
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+}
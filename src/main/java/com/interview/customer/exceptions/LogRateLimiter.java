@@ -0,0 +1,32 @@
+package com.interview.customer.exceptions;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets one log line through per interval and counts the ones held back in between.
+ */
+class LogRateLimiter {
+
+    private final long intervalNanos;
+    private final AtomicLong nextAllowed = new AtomicLong(System.nanoTime());
+    private final LongAdder suppressed = new LongAdder();
+
+    LogRateLimiter(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+    }
+
+    /**
+     * @return the number of lines suppressed since the last one allowed, or -1 if this one should be suppressed too
+     */
+    long tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextAllowed.get();
+        if (now - next < 0 || !nextAllowed.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return -1;
+        }
+        return suppressed.sumThenReset();
+    }
+}
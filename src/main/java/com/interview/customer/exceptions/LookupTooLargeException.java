@@ -0,0 +1,7 @@
+package com.interview.customer.exceptions;
+
+public class LookupTooLargeException extends RuntimeException {
+    public LookupTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.interview.customer.imports;
+
+/**
+ * Complete lines copied out of the import file, {@code firstLine} being the 1-based line number of the first one.
+ */
+public record ImportBatch(long firstLine, byte[] data) {
+}
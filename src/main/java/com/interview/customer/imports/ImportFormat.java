@@ -0,0 +1,146 @@
+package com.interview.customer.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.exceptions.InvalidImportException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Line formats accepted by the import job. Each parses one line, given as a byte range of its batch, straight into a
+ * {@link CustomerRequestDTO}; a line that cannot be parsed raises {@link IllegalArgumentException} with the reason.
+ */
+public enum ImportFormat {
+
+    /**
+     * {@code firstName,lastName,dob} per line, optionally with that header first. Fields may be double-quoted, with
+     * {@code ""} for a quote inside them.
+     */
+    CSV {
+        @Override
+        public boolean isHeader(byte[] data, int from, int to) {
+            byte[] header = "firstName,".getBytes(StandardCharsets.US_ASCII);
+            if (to - from < header.length) {
+                return false;
+            }
+            for (int i = 0; i < header.length; i++) {
+                if (Character.toLowerCase(data[from + i]) != Character.toLowerCase(header[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public CustomerRequestDTO parse(byte[] data, int from, int to, ObjectMapper objectMapper) {
+            String[] fields = new String[3];
+            int count = 0;
+            int position = from;
+            while (position <= to) {
+                if (count == fields.length) {
+                    throw new IllegalArgumentException("Expected 3 fields: firstName,lastName,dob");
+                }
+                int end;
+                if (position < to && data[position] == '"') {
+                    end = closingQuote(data, position + 1, to);
+                    fields[count++] = unquote(data, position + 1, end);
+                    end++;
+                    if (end < to && data[end] != ',') {
+                        throw new IllegalArgumentException("Unexpected character after quoted field " + count);
+                    }
+                } else {
+                    end = position;
+                    while (end < to && data[end] != ',') {
+                        end++;
+                    }
+                    fields[count++] = new String(data, position, end - position, StandardCharsets.UTF_8);
+                }
+                position = end + 1;
+            }
+            if (count != fields.length) {
+                throw new IllegalArgumentException("Expected 3 fields: firstName,lastName,dob");
+            }
+            CustomerRequestDTO customer = new CustomerRequestDTO();
+            customer.setFirstName(fields[0]);
+            customer.setLastName(fields[1]);
+            customer.setDob(fields[2]);
+            return customer;
+        }
+
+        private static int closingQuote(byte[] data, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (data[i] == '"') {
+                    if (i + 1 < to && data[i + 1] == '"') {
+                        i++;
+                    } else {
+                        return i;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+
+        private static String unquote(byte[] data, int from, int to) {
+            ByteArrayOutputStream field = new ByteArrayOutputStream(to - from);
+            for (int i = from; i < to; i++) {
+                field.write(data[i]);
+                if (data[i] == '"') {
+                    i++;
+                }
+            }
+            return field.toString(StandardCharsets.UTF_8);
+        }
+    },
+
+    /**
+     * One JSON object per line, with the same properties as the body of {@code POST /customers}.
+     */
+    NDJSON {
+        @Override
+        public boolean isHeader(byte[] data, int from, int to) {
+            return false;
+        }
+
+        @Override
+        public CustomerRequestDTO parse(byte[] data, int from, int to, ObjectMapper objectMapper) {
+            try {
+                return objectMapper.readValue(data, from, to - from, CustomerRequestDTO.class);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage(), ex);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    };
+
+    public abstract boolean isHeader(byte[] data, int from, int to);
+
+    public abstract CustomerRequestDTO parse(byte[] data, int from, int to, ObjectMapper objectMapper);
+
+    /**
+     * The requested format, or the one implied by the file extension when none is given.
+     */
+    public static ImportFormat of(String format, Path file) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidImportException("Unsupported import format: " + format);
+            }
+        }
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new InvalidImportException("Cannot tell the format of " + file.getFileName() + ", pass format=csv or format=ndjson");
+    }
+}
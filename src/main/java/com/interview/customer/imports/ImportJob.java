@@ -0,0 +1,118 @@
+package com.interview.customer.imports;
+
+import com.interview.customer.dto.Error;
+import com.interview.customer.dto.ImportJobDTO;
+import com.interview.customer.dto.ImportRejectionDTO;
+import com.interview.customer.dto.ImportStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of one import, updated by the reader and worker threads and read by the progress endpoint while it runs.
+ * Only the first {@code maxRejections} rejected rows are kept in full; the rest are only counted.
+ */
+@Getter
+public class ImportJob {
+
+    private final UUID id;
+    private final ImportFormat format;
+    private final Path path;
+    private final long bytesTotal;
+    private final Instant startedAt = Instant.now();
+    private final int maxRejections;
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder rowsImported = new LongAdder();
+    private final LongAdder rowsRejected = new LongAdder();
+    private final ConcurrentLinkedQueue<ImportRejectionDTO> rejections = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger keptRejections = new AtomicInteger();
+    private volatile ImportStatus status = ImportStatus.RUNNING;
+    private volatile String failure;
+    private volatile Instant finishedAt;
+    private volatile long elapsedNanos;
+
+    public ImportJob(UUID id, ImportFormat format, Path path, long bytesTotal, int maxRejections) {
+        this.id = id;
+        this.format = format;
+        this.path = path;
+        this.bytesTotal = bytesTotal;
+        this.maxRejections = maxRejections;
+    }
+
+    public void rowRead() {
+        rowsRead.increment();
+    }
+
+    public void imported(int rows) {
+        rowsImported.add(rows);
+    }
+
+    public void batchRead(int bytes) {
+        bytesRead.add(bytes);
+    }
+
+    public void reject(long line, List<Error> errors) {
+        rowsRejected.increment();
+        if (keptRejections.getAndIncrement() < maxRejections) {
+            ImportRejectionDTO rejection = new ImportRejectionDTO();
+            rejection.setLine(line);
+            rejection.setErrors(errors);
+            rejections.add(rejection);
+        }
+    }
+
+    /**
+     * Marks the job failed; the first failure wins and stops the remaining batches.
+     */
+    public synchronized void fail(Throwable cause) {
+        if (status == ImportStatus.RUNNING) {
+            failure = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+            status = ImportStatus.FAILED;
+        }
+    }
+
+    public boolean isFailed() {
+        return status == ImportStatus.FAILED;
+    }
+
+    public synchronized void finish() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        finishedAt = Instant.now();
+        if (status == ImportStatus.RUNNING) {
+            status = ImportStatus.COMPLETED;
+        }
+    }
+
+    public List<ImportRejectionDTO> rejections() {
+        return rejections.stream().sorted(Comparator.comparingLong(ImportRejectionDTO::getLine)).toList();
+    }
+
+    public ImportJobDTO toDTO() {
+        long elapsed = finishedAt != null ? elapsedNanos : System.nanoTime() - startNanos;
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setJobId(id);
+        dto.setStatus(status);
+        dto.setFormat(format.name().toLowerCase());
+        dto.setPath(path.getFileName().toString());
+        dto.setBytesTotal(bytesTotal);
+        dto.setBytesRead(bytesRead.sum());
+        dto.setRowsRead(rowsRead.sum());
+        dto.setRowsImported(rowsImported.sum());
+        dto.setRowsRejected(rowsRejected.sum());
+        dto.setRowsPerSecond(elapsed == 0 ? 0.0 : rowsRead.sum() * 1_000_000_000.0 / elapsed);
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        dto.setFailure(failure);
+        return dto;
+    }
+}
@@ -0,0 +1,92 @@
+package com.interview.customer.imports;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Predicate;
+
+/**
+ * Splits a file into batches of whole lines. The file is memory-mapped one window at a time and only scanned for line
+ * breaks here; each batch is copied out in one piece, so parsing can happen on other threads without a string per
+ * line. A line that does not fit in a window gets a larger window.
+ */
+public class MappedBatchReader {
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final int batchLines;
+    private final int windowBytes;
+
+    public MappedBatchReader(int batchLines, int windowBytes) {
+        this.batchLines = batchLines;
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * Hands every batch to {@code handler} in file order, stopping early when it returns {@code false}.
+     */
+    public void read(Path file, Predicate<ImportBatch> handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = startsWithBom(channel) ? UTF8_BOM.length : 0;
+            long line = 1;
+            int window = windowBytes;
+            while (position < size) {
+                int length = (int) Math.min(window, size - position);
+                boolean last = position + length == size;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int start = 0;
+                int lines = 0;
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(i) == '\n' && ++lines == batchLines) {
+                        if (!handler.test(new ImportBatch(line, copy(buffer, start, i + 1)))) {
+                            return;
+                        }
+                        line += lines;
+                        lines = 0;
+                        start = i + 1;
+                    }
+                }
+                if (last || lines > 0) {
+                    int end = last ? length : lastLineEnd(buffer, start, length);
+                    if (end > start && !handler.test(new ImportBatch(line, copy(buffer, start, end)))) {
+                        return;
+                    }
+                    line += lines;
+                    start = end;
+                }
+                if (start == 0 && !last) {
+                    window = Math.multiplyExact(window, 2);
+                    continue;
+                }
+                position += start;
+                window = windowBytes;
+            }
+        }
+    }
+
+    private static boolean startsWithBom(FileChannel channel) throws IOException {
+        if (channel.size() < UTF8_BOM.length) {
+            return false;
+        }
+        MappedByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, UTF8_BOM.length);
+        return head.get(0) == UTF8_BOM[0] && head.get(1) == UTF8_BOM[1] && head.get(2) == UTF8_BOM[2];
+    }
+
+    private static int lastLineEnd(MappedByteBuffer buffer, int start, int length) {
+        for (int i = length - 1; i >= start; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
+    private static byte[] copy(MappedByteBuffer buffer, int from, int to) {
+        byte[] data = new byte[to - from];
+        buffer.get(from, data);
+        return data;
+    }
+}
@@ -0,0 +1,119 @@
+package com.interview.customer.limits;
+
+import com.interview.customer.dto.ConcurrencyLimitStatsDTO;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to latency with additive increase / multiplicative decrease, the way TCP sizes its
+ * congestion window.
+ * <p>
+ * Requests beyond the limit are rejected rather than queued. Every completed request is a sample: one slower than the
+ * latency threshold, or one that failed because the database is overloaded, cuts the limit by the backoff ratio, and a
+ * fast one while at least half the limit is in use adds {@code 1/limit}, so the limit grows by about one per limit's
+ * worth of requests. Only samples that started after the last cut can cut it again, so a burst of requests queued
+ * behind the same slowdown backs off once instead of once per request.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder backoffs = new LongAdder();
+    private volatile int limit;
+
+    // guarded by this
+    private double estimate;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit,
+                                    Duration latencyThreshold, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("concurrency limit bounds must satisfy 1 <= min <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoff ratio must be between 0 and 1");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.estimate = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimate;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #getLimit()} requests are in flight. Every successful call must be paired with
+     * {@link #release}.
+     */
+    public boolean tryAcquire() {
+        int current = inFlight.get();
+        while (current < limit) {
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+            current = inFlight.get();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Gives the slot back and feeds the request's latency into the limit.
+     *
+     * @param overloaded whether the request failed because the database could not keep up
+     */
+    public void release(long startNanos, long endNanos, boolean overloaded) {
+        int inFlightWithThis = inFlight.getAndDecrement();
+        onSample(startNanos, endNanos, overloaded, inFlightWithThis);
+    }
+
+    private synchronized void onSample(long startNanos, long endNanos, boolean overloaded, int inFlightWithThis) {
+        if (overloaded || endNanos - startNanos > latencyThresholdNanos) {
+            if (backedOff && startNanos - lastBackoffNanos < 0) {
+                return;
+            }
+            backedOff = true;
+            lastBackoffNanos = endNanos;
+            backoffs.increment();
+            estimate = Math.max(minLimit, estimate * backoffRatio);
+        } else if (inFlightWithThis * 2 >= estimate) {
+            estimate = Math.min(maxLimit, estimate + 1 / estimate);
+        }
+        limit = (int) estimate;
+    }
+
+    public ConcurrencyLimitStatsDTO stats() {
+        ConcurrencyLimitStatsDTO stats = new ConcurrencyLimitStatsDTO();
+        stats.setName(name);
+        stats.setLimit(limit);
+        stats.setInFlight(inFlight.get());
+        stats.setAccepted(accepted.sum());
+        stats.setRejected(rejected.sum());
+        stats.setBackoffs(backoffs.sum());
+        return stats;
+    }
+}
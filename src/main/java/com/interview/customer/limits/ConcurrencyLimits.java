@@ -0,0 +1,54 @@
+package com.interview.customer.limits;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.ConcurrencyLimitStatsDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The separate read, write and bulk write limits for {@code CustomersController}, so slow writes cannot starve reads of
+ * slots and the other way round, and bulk creates neither take the slots of single writes nor cut their limit.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit reads;
+    private final AdaptiveConcurrencyLimit writes;
+    private final AdaptiveConcurrencyLimit bulkWrites;
+
+    public ConcurrencyLimits(CustomerProperties properties) {
+        CustomerProperties.ConcurrencyLimit limits = properties.getConcurrencyLimit();
+        this.enabled = limits.isEnabled();
+        this.reads = create("reads", limits.getReads(), limits.getBackoffRatio());
+        this.writes = create("writes", limits.getWrites(), limits.getBackoffRatio());
+        this.bulkWrites = create("bulk writes", limits.getBulkWrites(), limits.getBackoffRatio());
+    }
+
+    private static AdaptiveConcurrencyLimit create(String name, CustomerProperties.ConcurrencyLimit.Limit limit,
+                                                   double backoffRatio) {
+        return new AdaptiveConcurrencyLimit(name, limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                limit.getLatencyThreshold(), backoffRatio);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AdaptiveConcurrencyLimit reads() {
+        return reads;
+    }
+
+    public AdaptiveConcurrencyLimit writes() {
+        return writes;
+    }
+
+    public AdaptiveConcurrencyLimit bulkWrites() {
+        return bulkWrites;
+    }
+
+    public List<ConcurrencyLimitStatsDTO> stats() {
+        return List.of(reads.stats(), writes.stats(), bulkWrites.stats());
+    }
+}
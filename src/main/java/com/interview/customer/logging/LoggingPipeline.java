@@ -0,0 +1,37 @@
+package com.interview.customer.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import com.interview.customer.dto.LoggingStatsDTO;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the counters of the ring buffer and sampling filter that {@code logback-spring.xml} installs. They are looked
+ * up on every call because the logging system is reconfigured, and the appender replaced, whenever a context starts.
+ */
+@Component
+public class LoggingPipeline {
+
+    public LoggingStatsDTO stats() {
+        LoggingStatsDTO stats = new LoggingStatsDTO();
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return stats;
+        }
+        context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(appender -> {
+            if (appender instanceof RingBufferAppender ringBuffer) {
+                stats.setAsync(ringBuffer.isAsync());
+                stats.setCapacity(ringBuffer.getCapacity());
+                stats.setBuffered(ringBuffer.getBuffered());
+                stats.setDropped(stats.getDropped() + ringBuffer.getDropped());
+            }
+        });
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampling) {
+                stats.setSampledOut(stats.getSampledOut() + sampling.getSampledOut());
+            }
+        }
+        return stats;
+    }
+}
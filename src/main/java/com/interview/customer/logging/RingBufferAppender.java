@@ -0,0 +1,213 @@
+package com.interview.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands log events to the attached appenders on one background thread through a ring of preallocated slots, so request
+ * threads neither wait for console I/O nor queue on the lock the console appender holds while it writes.
+ * <p>
+ * A producer claims a slot with one compare-and-set on the tail sequence and never blocks. Once the ring is
+ * {@code discardingThreshold} percent full, events below WARN are dropped; when it is completely full, every event is.
+ * Both are counted in {@link #getDropped()}. Events are prepared for deferred processing before they are queued, so
+ * the thread name and formatted message are the caller's.
+ * <p>
+ * With {@code async} off, events go straight to the attached appenders on the caller's thread.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_FLUSH_MILLIS = 1_000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private int capacity = 8192;
+    private int discardingThreshold = 80;
+    private boolean async = true;
+    private AtomicReferenceArray<ILoggingEvent> slots;
+    private int mask;
+    private long discardAbove;
+    private volatile long head;
+    private volatile boolean parked;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to " + getName());
+            return;
+        }
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+        discardAbove = (long) size * discardingThreshold / 100;
+        super.start();
+        if (async) {
+            worker = Thread.ofPlatform().name("log-ring-buffer").daemon().start(this::drain);
+        }
+    }
+
+    /**
+     * Stops taking events and waits up to a second for the worker to write out the ones already queued.
+     */
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        if (worker != null) {
+            LockSupport.unpark(worker);
+            try {
+                worker.join(MAX_FLUSH_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (worker.isAlive()) {
+                addWarn("Gave up flushing " + getBuffered() + " queued log events");
+            }
+            worker = null;
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!async) {
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        boolean droppable = !event.getLevel().isGreaterOrEqual(Level.WARN);
+        // prepared before a slot is claimed: a claimed slot must always be filled, or the worker would wait on it
+        event.prepareForDeferredProcessing();
+        long sequence;
+        do {
+            sequence = tail.get();
+            long used = sequence - head;
+            if (used > mask || droppable && used >= discardAbove) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.set((int) (sequence & mask), event);
+        if (parked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void drain() {
+        while (isStarted() || head != tail.get()) {
+            long sequence = head;
+            int slot = (int) (sequence & mask);
+            ILoggingEvent event = slots.get(slot);
+            if (event == null) {
+                // either nothing is queued or the producer that claimed this slot has not stored its event yet
+                if (sequence == tail.get()) {
+                    idle();
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+            // the slot is free again before head moves past it, so a producer can only reuse an empty slot
+            slots.set(slot, null);
+            head = sequence + 1;
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException ex) {
+                addError("Failed to write log event", ex);
+            }
+        }
+    }
+
+    private void idle() {
+        parked = true;
+        if (head == tail.get() && isStarted()) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        parked = false;
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getBuffered() {
+        return tail.get() - head;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,84 @@
+package com.interview.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets one in N log calls at INFO and below through for the configured loggers. The decision is made before logback
+ * creates an event, so a sampled-out line costs no allocation. WARN and ERROR are never sampled.
+ * <p>
+ * {@code rates} is a comma-separated list of {@code logger=N} pairs. A logger name also covers the loggers below it,
+ * and the most specific name wins.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Map<String, Integer> rates = new HashMap<>();
+    private final Map<Logger, Integer> resolved = new ConcurrentHashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+
+    public void setRates(String rates) {
+        this.rates.clear();
+        resolved.clear();
+        for (String entry : rates.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            try {
+                int rate = Integer.parseInt(entry.substring(separator + 1).trim());
+                if (separator <= 0 || rate < 1) {
+                    throw new NumberFormatException();
+                }
+                this.rates.put(entry.substring(0, separator).trim(), rate);
+            } catch (NumberFormatException ex) {
+                addError("Ignoring sampling rate '" + entry.trim() + "', expected logger=N with N >= 1");
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // a null format is an isXxxEnabled() check, which must not be sampled on its own
+        if (format == null || rates.isEmpty() || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        Integer rate = resolved.get(logger);
+        if (rate == null) {
+            rate = resolved.computeIfAbsent(logger, this::rateOf);
+        }
+        if (rate == 1 || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || ThreadLocalRandom.current().nextInt(rate) == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    private int rateOf(Logger logger) {
+        String name = logger.getName();
+        while (true) {
+            Integer rate = rates.get(name);
+            if (rate != null) {
+                return rate;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return 1;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+}
@@ -0,0 +1,65 @@
+package com.interview.customer.metrics;
+
+import com.interview.customer.dto.LatencyStatsDTO;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms per instrumented method, grouped by application layer.
+ */
+@Component
+public class LatencyRegistry {
+
+    private final ConcurrentHashMap<Object, MethodLatency> methods = new ConcurrentHashMap<>();
+
+    public LatencyHistogram histogram(String layer, Method method) {
+        MethodLatency latency = methods.get(method);
+        if (latency == null) {
+            latency = methods.computeIfAbsent(method, key -> new MethodLatency(layer,
+                    method.getDeclaringClass().getSimpleName() + "." + method.getName(), new LatencyHistogram()));
+        }
+        return latency.histogram();
+    }
+
+    /**
+     * Histogram for an operation that is not a single instrumented method, such as a store call made on one shard.
+     */
+    public LatencyHistogram histogram(String layer, String operation) {
+        return methods.computeIfAbsent(new Operation(layer, operation),
+                key -> new MethodLatency(layer, operation, new LatencyHistogram())).histogram();
+    }
+
+    public List<LatencyStatsDTO> stats() {
+        return methods.values().stream()
+                .map(MethodLatency::toStats)
+                .sorted(Comparator.comparing(LatencyStatsDTO::getLayer).thenComparing(LatencyStatsDTO::getMethod))
+                .toList();
+    }
+
+    private record Operation(String layer, String name) {
+    }
+
+    private record MethodLatency(String layer, String name, LatencyHistogram histogram) {
+
+        LatencyStatsDTO toStats() {
+            long[] snapshot = histogram.snapshot();
+            long count = histogram.getCount();
+            LatencyStatsDTO stats = new LatencyStatsDTO();
+            stats.setLayer(layer);
+            stats.setMethod(name);
+            stats.setCount(count);
+            stats.setErrors(histogram.getErrors());
+            stats.setErrorRate(count == 0 ? 0.0 : (double) histogram.getErrors() / count);
+            stats.setMeanMicros(count == 0 ? 0.0 : histogram.getTotalNanos() / 1_000.0 / count);
+            stats.setP50Micros(LatencyHistogram.percentile(snapshot, 0.50) / 1_000.0);
+            stats.setP99Micros(LatencyHistogram.percentile(snapshot, 0.99) / 1_000.0);
+            stats.setP999Micros(LatencyHistogram.percentile(snapshot, 0.999) / 1_000.0);
+            stats.setMaxMicros(histogram.getMaxNanos() / 1_000.0);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.interview.customer.metrics;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.PinningStatsDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listens for JFR {@code jdk.VirtualThreadPinned} events, i.e. virtual threads that blocked while pinned to their
+ * carrier (typically inside a {@code synchronized} block of a JDBC driver or connection pool), and counts them per
+ * call site.
+ */
+@Component
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final boolean enabled;
+    private final Duration threshold;
+    private final LongAdder events = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private RecordingStream recording;
+
+    public VirtualThreadPinningMonitor(CustomerProperties properties) {
+        this.enabled = properties.getVirtualThreads().isPinningMonitorEnabled();
+        this.threshold = properties.getVirtualThreads().getPinningThreshold();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        log.info("Watching for virtual threads pinned longer than {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public PinningStatsDTO stats() {
+        PinningStatsDTO stats = new PinningStatsDTO();
+        stats.setEnabled(enabled);
+        stats.setThresholdMillis(threshold.toMillis());
+        stats.setEvents(events.sum());
+        stats.setPinnedMillis(pinnedNanos.sum() / 1_000_000);
+        Map<String, Long> counts = new TreeMap<>();
+        sites.forEach((site, count) -> counts.put(site, count.sum()));
+        stats.setSites(counts);
+        return stats;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        events.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+        String site = site(event);
+        sites.computeIfAbsent(site, key -> new LongAdder()).increment();
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+    }
+
+    private static String site(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+}
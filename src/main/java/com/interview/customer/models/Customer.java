@@ -2,21 +2,28 @@ package com.interview.customer.models;
 
 import com.interview.customer.dto.CustomerDTO;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "IDX_CUSTOMER_LAST_NAME", columnList = "LAST_NAME_NORMALIZED, CUSTOMER_ID"),
+        @Index(name = "IDX_CUSTOMER_FIRST_NAME", columnList = "FIRST_NAME_NORMALIZED, CUSTOMER_ID"),
+        @Index(name = "IDX_CUSTOMER_DATE_OF_BIRTH", columnList = "DATE_OF_BIRTH, CUSTOMER_ID")
+})
 @Getter
 @Setter
 @ToString
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedCustomerId
     private UUID customerId;
 
     @Column(name = "FIRST_NAME")
@@ -24,15 +31,45 @@ public class Customer {
     @Column(name = "LAST_NAME")
     private String lastName;
 
+    // lower-case copies of the names, so case-insensitive prefix searches are index range scans
+    @Setter(AccessLevel.NONE)
+    @Column(name = "FIRST_NAME_NORMALIZED")
+    private String firstNameNormalized;
+    @Setter(AccessLevel.NONE)
+    @Column(name = "LAST_NAME_NORMALIZED")
+    private String lastNameNormalized;
+
     @Column(name = "DATE_OF_BIRTH")
     private LocalDate dob;
 
+    @Version
+    @Column(name = "VERSION")
+    private Long version;
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+        this.firstNameNormalized = normalizeName(firstName);
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+        this.lastNameNormalized = normalizeName(lastName);
+    }
+
+    /**
+     * Names are ASCII letters only, so the locale-independent lower case is all the case folding they need.
+     */
+    public static String normalizeName(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
     public CustomerDTO toDTO(){
         CustomerDTO dto = new CustomerDTO();
         dto.setCustomerId(this.getCustomerId().toString());
         dto.setFirstName(this.getFirstName());
         dto.setLastName(this.getLastName());
         dto.setDateOfBirth(this.getDob());
+        dto.setVersion(this.getVersion());
         return dto;
     }
 }
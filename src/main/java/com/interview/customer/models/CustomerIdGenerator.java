@@ -0,0 +1,36 @@
+package com.interview.customer.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * Generates UUIDv7 customer ids but keeps an id that was assigned before the insert, so a caller can choose the id up
+ * front, for example to know which shard the customer belongs to.
+ */
+public class CustomerIdGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        if (currentValue != null) {
+            return currentValue;
+        }
+        if (owner instanceof Customer customer && customer.getCustomerId() != null) {
+            return customer.getCustomerId();
+        }
+        return UuidV7Generator.next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.interview.customer.models;
+
+import java.util.UUID;
+
+/**
+ * 64-bit hashes of customer ids, shared by the structures that spread ids over buckets. UUIDv7 ids share their
+ * timestamp prefix, so the bits are spread with the MurmurHash3 finalizer before they are used.
+ */
+public final class CustomerIdHash {
+
+    private CustomerIdHash() {
+    }
+
+    public static long of(UUID customerId) {
+        return mix(customerId.getMostSignificantBits() ^ mix(customerId.getLeastSignificantBits()));
+    }
+
+    // MurmurHash3 finalizer
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
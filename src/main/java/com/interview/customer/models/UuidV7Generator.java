@@ -0,0 +1,41 @@
+package com.interview.customer.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562) values: a 48-bit millisecond timestamp, a 12-bit counter and 62 random bits.
+ * <p>
+ * The timestamp and counter are drawn from one shared atomic so ids are strictly increasing across threads; when more
+ * than 4096 ids are requested within a millisecond the counter carries into the timestamp.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+    // one shared instance: SecureRandom is thread-safe, and a per-thread one would be built and seeded again by every
+    // virtual thread that creates a customer
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long last;
+        long timestampAndCounter;
+        do {
+            last = LAST_TIMESTAMP_AND_COUNTER.get();
+            timestampAndCounter = now > last ? now : last + 1;
+        } while (!LAST_TIMESTAMP_AND_COUNTER.compareAndSet(last, timestampAndCounter));
+
+        long mostSigBits = (timestampAndCounter >>> 12) << 16 | 0x7000L | (timestampAndCounter & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
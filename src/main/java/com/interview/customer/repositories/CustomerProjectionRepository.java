@@ -0,0 +1,22 @@
+package com.interview.customer.repositories;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads only the requested columns into partially populated {@link CustomerDTO}s, without loading entities.
+ */
+public interface CustomerProjectionRepository {
+
+    Optional<CustomerDTO> findProjectedById(UUID customerId, Set<CustomerField> fields);
+
+    /**
+     * Keyset page in id order, starting after {@code after} or from the beginning when it is {@code null}.
+     */
+    List<CustomerDTO> findProjectedPage(UUID after, Set<CustomerField> fields, int limit);
+}
@@ -0,0 +1,70 @@
+package com.interview.customer.repositories;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Builds one JPQL select list per distinct field set and keeps it, so every combination is parsed once and then
+ * served from Hibernate's query plan cache. Results are read as lists: callers need not hold a transaction, and the
+ * shared entity manager closes a streamed result set as soon as the query call returns outside of one.
+ */
+@RequiredArgsConstructor
+class CustomerProjectionRepositoryImpl implements CustomerProjectionRepository {
+
+    private final EntityManager entityManager;
+    private final Map<Set<CustomerField>, String> selectClauses = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<CustomerDTO> findProjectedById(UUID customerId, Set<CustomerField> fields) {
+        return entityManager.createQuery(select(fields) + " where c.customerId = :customerId", Tuple.class)
+                .setParameter("customerId", customerId)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(tuple -> toDTO(tuple, fields));
+    }
+
+    @Override
+    public List<CustomerDTO> findProjectedPage(UUID after, Set<CustomerField> fields, int limit) {
+        TypedQuery<Tuple> query = after == null
+                ? entityManager.createQuery(select(fields) + " order by c.customerId", Tuple.class)
+                : entityManager.createQuery(select(fields) + " where c.customerId > :after order by c.customerId", Tuple.class)
+                        .setParameter("after", after);
+        return query.setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> toDTO(tuple, fields))
+                .toList();
+    }
+
+    private String select(Set<CustomerField> fields) {
+        String clause = selectClauses.get(fields);
+        if (clause == null) {
+            clause = fields.stream()
+                    .map(field -> "c." + field.getAttribute() + " as " + field.getAttribute())
+                    .collect(Collectors.joining(", ", "select ", " from Customer c"));
+            selectClauses.putIfAbsent(Set.copyOf(fields), clause);
+        }
+        return clause;
+    }
+
+    private static CustomerDTO toDTO(Tuple tuple, Set<CustomerField> fields) {
+        CustomerDTO customer = new CustomerDTO();
+        for (CustomerField field : fields) {
+            field.copy(tuple, customer);
+        }
+        return customer;
+    }
+}
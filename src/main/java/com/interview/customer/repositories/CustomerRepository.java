@@ -1,13 +1,71 @@
 package com.interview.customer.repositories;
 
 
+import com.interview.customer.dto.CustomerDTO;
 import com.interview.customer.models.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, UUID> {
+public interface CustomerRepository extends JpaRepository<Customer, UUID>, CustomerProjectionRepository,
+        CustomerWriteRepository {
 
-}
\ No newline at end of file
+    List<Customer> findAllByOrderByCustomerIdAsc(Limit limit);
+
+    List<Customer> findByCustomerIdGreaterThanOrderByCustomerIdAsc(UUID customerId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.interview.customer.dto.CustomerDTO(c.customerId, c.firstName, c.lastName, c.dob) from Customer c")
+    Stream<CustomerDTO> streamAllBy();
+
+    @Query("select new com.interview.customer.dto.CustomerDTO(c.customerId, c.firstName, c.lastName, c.dob) from Customer c where c.customerId in :customerIds")
+    List<CustomerDTO> findAllByCustomerIdIn(Collection<UUID> customerIds);
+
+    @Query("select c.version from Customer c where c.customerId = :customerId")
+    Optional<Long> findVersionByCustomerId(UUID customerId);
+
+    /**
+     * Customers whose normalized last name is in {@code [from, to)}, ordered by it and then by id, after the customer
+     * with last name {@code afterKey} and id {@code afterId}. The bounds make this a range scan of
+     * {@code IDX_CUSTOMER_LAST_NAME}; the other criteria filter the rows it reads.
+     */
+    @Query("select new com.interview.customer.dto.CustomerDTO(c.customerId, c.firstName, c.lastName, c.dob) from Customer c"
+            + " where c.lastNameNormalized >= :from and c.lastNameNormalized < :to"
+            + " and (c.lastNameNormalized > :afterKey or c.customerId > :afterId)"
+            + " and c.firstNameNormalized like :firstNamePattern and c.dob between :dobFrom and :dobTo"
+            + " order by c.lastNameNormalized, c.customerId")
+    List<CustomerDTO> searchByLastName(String from, String to, String afterKey, UUID afterId, String firstNamePattern,
+                                       LocalDate dobFrom, LocalDate dobTo, Limit limit);
+
+    /**
+     * Like {@link #searchByLastName} for searches without a last name, over {@code IDX_CUSTOMER_FIRST_NAME}.
+     */
+    @Query("select new com.interview.customer.dto.CustomerDTO(c.customerId, c.firstName, c.lastName, c.dob) from Customer c"
+            + " where c.firstNameNormalized >= :from and c.firstNameNormalized < :to"
+            + " and (c.firstNameNormalized > :afterKey or c.customerId > :afterId)"
+            + " and c.dob between :dobFrom and :dobTo"
+            + " order by c.firstNameNormalized, c.customerId")
+    List<CustomerDTO> searchByFirstName(String from, String to, String afterKey, UUID afterId, LocalDate dobFrom,
+                                        LocalDate dobTo, Limit limit);
+
+    /**
+     * Like {@link #searchByLastName} for searches by date of birth only, over {@code IDX_CUSTOMER_DATE_OF_BIRTH}.
+     */
+    @Query("select new com.interview.customer.dto.CustomerDTO(c.customerId, c.firstName, c.lastName, c.dob) from Customer c"
+            + " where c.dob >= :from and c.dob <= :to"
+            + " and (c.dob > :afterKey or c.customerId > :afterId)"
+            + " order by c.dob, c.customerId")
+    List<CustomerDTO> searchByDateOfBirth(LocalDate from, LocalDate to, LocalDate afterKey, UUID afterId, Limit limit);
+}
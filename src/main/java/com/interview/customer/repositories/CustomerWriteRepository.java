@@ -0,0 +1,35 @@
+package com.interview.customer.repositories;
+
+import com.interview.customer.dto.CustomerDTO;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-statement writes that return the last name, date of birth and version of the row they replaced, so callers
+ * that count customers learn exactly what they wrote over without reading it first.
+ */
+public interface CustomerWriteRepository {
+
+    /**
+     * @return the values the update replaced, empty if the customer does not exist
+     */
+    @Transactional
+    Optional<CustomerDTO> updateReturningReplaced(UUID customerId, String firstName, String lastName, LocalDate dob);
+
+    /**
+     * @return the values the update replaced, empty if the customer does not exist or its version is not
+     * {@code version}
+     */
+    @Transactional
+    Optional<CustomerDTO> updateReturningReplaced(UUID customerId, String firstName, String lastName, LocalDate dob,
+                                                  long version);
+
+    /**
+     * @return the values the delete removed, empty if the customer does not exist
+     */
+    @Transactional
+    Optional<CustomerDTO> deleteReturningReplaced(UUID customerId);
+}
@@ -0,0 +1,77 @@
+package com.interview.customer.repositories;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.models.Customer;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Wraps each write in H2's {@code OLD TABLE}, which returns the rows a data change statement replaced as they were
+ * before it, so the write and the read of what it overwrote are one statement and one round trip. The scalars are
+ * typed explicitly, since a native query would otherwise return the JDBC driver's own date and number types.
+ */
+@RequiredArgsConstructor
+class CustomerWriteRepositoryImpl implements CustomerWriteRepository {
+
+    private static final String REPLACED = "SELECT LAST_NAME, DATE_OF_BIRTH, VERSION FROM OLD TABLE (%s)";
+    private static final String UPDATE = "UPDATE CUSTOMER SET FIRST_NAME = :firstName, "
+            + "FIRST_NAME_NORMALIZED = :firstNameNormalized, LAST_NAME = :lastName, "
+            + "LAST_NAME_NORMALIZED = :lastNameNormalized, DATE_OF_BIRTH = :dob, VERSION = VERSION + 1 "
+            + "WHERE CUSTOMER_ID = :customerId";
+    private static final String UPDATE_AT_VERSION = UPDATE + " AND VERSION = :version";
+    private static final String DELETE = "DELETE FROM CUSTOMER WHERE CUSTOMER_ID = :customerId";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<CustomerDTO> updateReturningReplaced(UUID customerId, String firstName, String lastName,
+                                                         LocalDate dob) {
+        return replaced(customerId, update(UPDATE, customerId, firstName, lastName, dob));
+    }
+
+    @Override
+    public Optional<CustomerDTO> updateReturningReplaced(UUID customerId, String firstName, String lastName,
+                                                         LocalDate dob, long version) {
+        return replaced(customerId, update(UPDATE_AT_VERSION, customerId, firstName, lastName, dob)
+                .setParameter("version", version));
+    }
+
+    @Override
+    public Optional<CustomerDTO> deleteReturningReplaced(UUID customerId) {
+        return replaced(customerId, query(DELETE).setParameter("customerId", customerId));
+    }
+
+    private NativeQuery<?> update(String statement, UUID customerId, String firstName, String lastName, LocalDate dob) {
+        return query(statement)
+                .setParameter("firstName", firstName)
+                .setParameter("firstNameNormalized", Customer.normalizeName(firstName))
+                .setParameter("lastName", lastName)
+                .setParameter("lastNameNormalized", Customer.normalizeName(lastName))
+                .setParameter("dob", dob)
+                .setParameter("customerId", customerId);
+    }
+
+    private NativeQuery<?> query(String statement) {
+        return entityManager.createNativeQuery(String.format(REPLACED, statement))
+                .unwrap(NativeQuery.class)
+                .addScalar("LAST_NAME", StandardBasicTypes.STRING)
+                .addScalar("DATE_OF_BIRTH", StandardBasicTypes.LOCAL_DATE)
+                .addScalar("VERSION", StandardBasicTypes.LONG);
+    }
+
+    private static Optional<CustomerDTO> replaced(UUID customerId, NativeQuery<?> query) {
+        List<?> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = (Object[]) rows.getFirst();
+        return Optional.of(new CustomerDTO(customerId, null, (String) row[0], (LocalDate) row[1], (Long) row[2]));
+    }
+}
@@ -0,0 +1,128 @@
+package com.interview.customer.services;
+
+import com.interview.customer.cache.CustomerIdFilter;
+import com.interview.customer.changefeed.ChangeFeed;
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.BulkCreateResponseDTO;
+import com.interview.customer.dto.BulkItemErrorDTO;
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.dto.Error;
+import com.interview.customer.exceptions.BulkTooLargeException;
+import com.interview.customer.models.Customer;
+import com.interview.customer.statistics.CustomerStatistics;
+import com.interview.customer.store.CustomerStore;
+import com.interview.customer.validation.DateOfBirth;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CustomerBulkService {
+
+    private final CustomerStore customerStore;
+    private final Validator validator;
+    private final CustomerProperties properties;
+    private final ChangeFeed changeFeed;
+    private final CustomerIdFilter customerIdFilter;
+    private final CustomerStatistics customerStatistics;
+
+    /**
+     * Validates every item independently and persists the valid ones in chunks, each chunk saved atomically,
+     * so Hibernate can flush each chunk as JDBC batches. Chunks are not rolled back together: when one fails, the
+     * request fails but the chunks committed before it stay committed.
+     *
+     * @throws BulkTooLargeException when there are more than {@code customers.bulk.max-items} items
+     */
+    public BulkCreateResponseDTO saveCustomers(List<CustomerRequestDTO> customerDTOs) {
+        int maxItems = properties.getBulk().getMaxItems();
+        if (customerDTOs.size() > maxItems) {
+            throw new BulkTooLargeException("at most " + maxItems + " customers can be created at once");
+        }
+        log.info("Preparing to save {} customers in bulk", customerDTOs.size());
+        List<Customer> accepted = new ArrayList<>(customerDTOs.size());
+        List<BulkItemErrorDTO> rejected = new ArrayList<>();
+        for (int i = 0; i < customerDTOs.size(); i++) {
+            CustomerRequestDTO customerDTO = customerDTOs.get(i);
+            List<Error> errors = validate(customerDTO);
+            if (errors.isEmpty()) {
+                try {
+                    accepted.add(toCustomer(customerDTO));
+                } catch (DateTimeException ex) {
+                    // the format check lets through days the month does not have, such as 1990-02-30
+                    errors.add(error("dob", DateOfBirth.MESSAGE));
+                }
+            }
+            if (!errors.isEmpty()) {
+                BulkItemErrorDTO itemError = new BulkItemErrorDTO();
+                itemError.setIndex(i);
+                itemError.setErrors(errors);
+                rejected.add(itemError);
+            }
+        }
+
+        int chunkSize = properties.getBulk().getChunkSize();
+        List<CustomerDTO> created = new ArrayList<>(accepted.size());
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Customer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            List<Customer> saved = customerStore.saveAll(chunk);
+            for (Customer customer : saved) {
+                customerIdFilter.add(customer.getCustomerId());
+                CustomerDTO customerDTO = customer.toDTO();
+                customerStatistics.add(customerDTO);
+                created.add(customerDTO);
+                changeFeed.publish(ChangeType.CREATED, customer.getCustomerId(), customerDTO);
+            }
+        }
+        log.info("Saved {} customers in bulk, rejected {}", created.size(), rejected.size());
+
+        BulkCreateResponseDTO response = new BulkCreateResponseDTO();
+        response.setCreated(created.size());
+        response.setRejected(rejected.size());
+        response.setCustomers(created);
+        response.setErrors(rejected);
+        return response;
+    }
+
+    private List<Error> validate(CustomerRequestDTO customerDTO) {
+        List<Error> errors = new ArrayList<>();
+        if (customerDTO == null) {
+            Error error = new Error();
+            error.setLocation("body");
+            error.setReason("Customer is mandatory");
+            errors.add(error);
+            return errors;
+        }
+        Set<ConstraintViolation<CustomerRequestDTO>> violations = validator.validate(customerDTO);
+        for (ConstraintViolation<CustomerRequestDTO> violation : violations) {
+            errors.add(error(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        return errors;
+    }
+
+    private static Error error(String field, String reason) {
+        Error error = new Error();
+        error.setField(field);
+        error.setLocation("body");
+        error.setReason(reason);
+        return error;
+    }
+
+    static Customer toCustomer(CustomerRequestDTO customerDTO) {
+        Customer customer = new Customer();
+        customer.setFirstName(customerDTO.getFirstName());
+        customer.setLastName(customerDTO.getLastName());
+        customer.setDob(customerDTO.dobAsLocalDate());
+        return customer;
+    }
+}
@@ -0,0 +1,232 @@
+package com.interview.customer.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.customer.cache.CustomerIdFilter;
+import com.interview.customer.changefeed.ChangeFeed;
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.dto.Error;
+import com.interview.customer.dto.ImportJobDTO;
+import com.interview.customer.dto.ImportRejectionDTO;
+import com.interview.customer.dto.ImportRequestDTO;
+import com.interview.customer.exceptions.ImportJobNotFoundException;
+import com.interview.customer.exceptions.InvalidImportException;
+import com.interview.customer.imports.ImportBatch;
+import com.interview.customer.imports.ImportFormat;
+import com.interview.customer.imports.ImportJob;
+import com.interview.customer.imports.MappedBatchReader;
+import com.interview.customer.models.Customer;
+import com.interview.customer.statistics.CustomerStatistics;
+import com.interview.customer.store.CustomerStore;
+import com.interview.customer.validation.DateOfBirth;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CustomerImportService {
+
+    private static final int WINDOW_BYTES = 64 << 20;
+
+    private final CustomerStore customerStore;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final CustomerProperties properties;
+    private final ChangeFeed changeFeed;
+    private final CustomerIdFilter customerIdFilter;
+    private final CustomerStatistics customerStatistics;
+    private final ConcurrentHashMap<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Starts importing a file from the import directory in the background. One reader thread cuts the file into
+     * batches of lines; a fixed pool parses, validates and saves them, one transaction per batch. The pool's queue is
+     * bounded and the reader runs a batch itself when it is full, so memory stays at a few batches per worker.
+     */
+    public ImportJobDTO startImport(ImportRequestDTO request) {
+        Path file = resolve(request.getPath());
+        ImportFormat format = ImportFormat.of(request.getFormat(), file);
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException ex) {
+            throw new InvalidImportException("Cannot read import file " + request.getPath());
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID(), format, file, size, properties.getImports().getMaxRejections());
+        jobs.put(job.getId(), job);
+        log.info("Starting import {} of {} ({} bytes, {})", job.getId(), file.getFileName(), size, format);
+        Thread.ofPlatform().name("customer-import-" + job.getId()).start(() -> run(job));
+        return job.toDTO();
+    }
+
+    public ImportJobDTO getImport(UUID jobId) {
+        return job(jobId).toDTO();
+    }
+
+    public List<ImportJobDTO> getImports() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(ImportJob::getStartedAt))
+                .map(ImportJob::toDTO)
+                .toList();
+    }
+
+    public List<ImportRejectionDTO> getRejections(UUID jobId) {
+        return job(jobId).rejections();
+    }
+
+    private ImportJob job(UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ImportJobNotFoundException("Import job not found with id " + jobId);
+        }
+        return job;
+    }
+
+    private Path resolve(String path) {
+        Path directory;
+        Path file;
+        try {
+            directory = Path.of(properties.getImports().getDirectory()).toRealPath();
+            file = directory.resolve(path).toRealPath();
+        } catch (IOException | InvalidPathException ex) {
+            throw new InvalidImportException("Import file not found: " + path);
+        }
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new InvalidImportException("Import file must be a regular file inside the import directory: " + path);
+        }
+        return file;
+    }
+
+    private void run(ImportJob job) {
+        CustomerProperties.Imports imports = properties.getImports();
+        int parallelism = imports.resolveParallelism();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parallelism * 2),
+                Thread.ofPlatform().name("customer-import-worker-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            new MappedBatchReader(imports.getBatchSize(), WINDOW_BYTES).read(job.getPath(), batch -> {
+                if (job.isFailed()) {
+                    return false;
+                }
+                workers.execute(() -> importBatch(job, batch));
+                return true;
+            });
+        } catch (IOException | RuntimeException ex) {
+            log.error("Import {} failed reading {}: {}", job.getId(), job.getPath().getFileName(), ex.getMessage());
+            job.fail(ex);
+        } finally {
+            workers.shutdown();
+            try {
+                workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                job.fail(ex);
+            }
+        }
+        job.finish();
+        ImportJobDTO result = job.toDTO();
+        log.info("Import {} {}: {} rows imported, {} rejected, {} rows/s", job.getId(), result.getStatus(),
+                result.getRowsImported(), result.getRowsRejected(), Math.round(result.getRowsPerSecond()));
+    }
+
+    private void importBatch(ImportJob job, ImportBatch batch) {
+        if (job.isFailed()) {
+            return;
+        }
+        try {
+            byte[] data = batch.data();
+            List<Customer> accepted = new ArrayList<>();
+            long line = batch.firstLine();
+            int start = 0;
+            while (start < data.length) {
+                int end = start;
+                while (end < data.length && data[end] != '\n') {
+                    end++;
+                }
+                int next = end + 1;
+                if (end > start && data[end - 1] == '\r') {
+                    end--;
+                }
+                if (end > start && !(line == 1 && job.getFormat().isHeader(data, start, end))) {
+                    job.rowRead();
+                    Customer customer = parse(job, data, start, end, line);
+                    if (customer != null) {
+                        accepted.add(customer);
+                    }
+                }
+                start = next;
+                line++;
+            }
+            if (!accepted.isEmpty()) {
+                List<Customer> saved = customerStore.saveAll(accepted);
+                for (Customer customer : saved) {
+                    customerIdFilter.add(customer.getCustomerId());
+                    CustomerDTO customerDTO = customer.toDTO();
+                    customerStatistics.add(customerDTO);
+                    changeFeed.publish(ChangeType.CREATED, customer.getCustomerId(), customerDTO);
+                }
+                job.imported(saved.size());
+            }
+            job.batchRead(data.length);
+        } catch (RuntimeException ex) {
+            log.error("Import {} failed at line {}: {}", job.getId(), batch.firstLine(), ex.getMessage());
+            job.fail(ex);
+        }
+    }
+
+    /**
+     * The customer on this line, or {@code null} after recording why the line was rejected.
+     */
+    private Customer parse(ImportJob job, byte[] data, int start, int end, long line) {
+        CustomerRequestDTO customerDTO;
+        try {
+            customerDTO = job.getFormat().parse(data, start, end, objectMapper);
+        } catch (IllegalArgumentException ex) {
+            job.reject(line, List.of(error(null, ex.getMessage())));
+            return null;
+        }
+        List<Error> errors = new ArrayList<>();
+        for (ConstraintViolation<CustomerRequestDTO> violation : validator.validate(customerDTO)) {
+            errors.add(error(violation.getPropertyPath().toString(), violation.getMessage()));
+        }
+        if (!errors.isEmpty()) {
+            job.reject(line, errors);
+            return null;
+        }
+        try {
+            return CustomerBulkService.toCustomer(customerDTO);
+        } catch (DateTimeException ex) {
+            // the format check lets through days the month does not have, such as 1990-02-30
+            job.reject(line, List.of(error("dob", DateOfBirth.MESSAGE)));
+            return null;
+        }
+    }
+
+    private static Error error(String field, String reason) {
+        Error error = new Error();
+        error.setField(field);
+        error.setLocation("file");
+        error.setReason(reason);
+        return error;
+    }
+}
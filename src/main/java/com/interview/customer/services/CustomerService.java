@@ -1,30 +1,186 @@
 package com.interview.customer.services;
 
+import com.interview.customer.cache.CustomerCache;
+import com.interview.customer.cache.CustomerIdFilter;
+import com.interview.customer.changefeed.ChangeFeed;
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.ChangeType;
 import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.dto.CustomerLookupDTO;
+import com.interview.customer.dto.CustomerPageDTO;
 import com.interview.customer.dto.CustomerRequestDTO;
 import com.interview.customer.exceptions.CustomerNotFoundException;
+import com.interview.customer.exceptions.CustomerVersionMismatchException;
+import com.interview.customer.exceptions.InvalidCursorException;
+import com.interview.customer.exceptions.InvalidSearchException;
+import com.interview.customer.exceptions.LookupTooLargeException;
 import com.interview.customer.models.Customer;
-import com.interview.customer.repositories.CustomerRepository;
+import com.interview.customer.statistics.CustomerStatistics;
+import com.interview.customer.store.CustomerSearch;
+import com.interview.customer.store.CustomerStore;
+import com.interview.customer.writes.GroupCommitWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class CustomerService {
 
-    private final CustomerRepository customerRepo;
+    private final CustomerStore customerStore;
+    private final CustomerProperties properties;
+    private final CustomerCache customerCache;
+    private final ChangeFeed changeFeed;
+    private final CustomerIdFilter customerIdFilter;
+    private final CustomerStatistics customerStatistics;
+    private final GroupCommitWriter groupCommitWriter;
 
+    public CustomerPageDTO getCustomers(String cursor, Integer pageSize){
+        int size = properties.getPagination().resolvePageSize(pageSize);
+        log.info("Fetching customers page of size {}", size);
+        List<Customer> customers = customerStore.findPage(cursor == null ? null : PageCursor.decode(cursor), size + 1);
+        if (customers.size() <= size) {
+            return new CustomerPageDTO(customers.stream().map(Customer::toDTO).toList(), null);
+        }
+        List<Customer> page = customers.subList(0, size);
+        String nextCursor = PageCursor.encode(page.getLast().getCustomerId());
+        return new CustomerPageDTO(page.stream().map(Customer::toDTO).toList(), nextCursor);
+    }
+
+    /**
+     * Same page as {@link #getCustomers(String, Integer)}, reading only the requested columns. The id is always read
+     * so the next cursor can be built, and dropped again when it was not requested.
+     */
+    public CustomerPageDTO getCustomers(String cursor, Integer pageSize, Set<CustomerField> fields){
+        int size = properties.getPagination().resolvePageSize(pageSize);
+        log.info("Fetching customers page of size {} with fields {}", size, fields);
+        EnumSet<CustomerField> selected = EnumSet.copyOf(fields);
+        selected.add(CustomerField.CUSTOMER_ID);
+        UUID after = cursor == null ? null : PageCursor.decode(cursor);
+        List<CustomerDTO> customers = customerStore.findProjectedPage(after, selected, size + 1);
+        String nextCursor = null;
+        if (customers.size() > size) {
+            customers = customers.subList(0, size);
+            nextCursor = PageCursor.encode(UUID.fromString(customers.getLast().getCustomerId()));
+        }
+        if (!fields.contains(CustomerField.CUSTOMER_ID)) {
+            customers.forEach(customer -> customer.setCustomerId(null));
+        }
+        return new CustomerPageDTO(customers, nextCursor);
+    }
+
+    /**
+     * One page of customers whose names start with the given prefixes, ignoring case, and whose date of birth is in
+     * {@code [dobFrom, dobTo]}. Every criterion is optional but at least one is required.
+     */
+    public CustomerPageDTO searchCustomers(String lastName, String firstName, LocalDate dobFrom, LocalDate dobTo,
+                                           String cursor, Integer pageSize) {
+        CustomerSearch search = new CustomerSearch(searchPrefix("lastName", lastName), searchPrefix("firstName", firstName),
+                dobFrom == null ? CustomerSearch.EARLIEST_DOB : dobFrom, dobTo == null ? CustomerSearch.LATEST_DOB : dobTo);
+        if (search.lastNamePrefix().isEmpty() && search.firstNamePrefix().isEmpty() && dobFrom == null && dobTo == null) {
+            throw new InvalidSearchException("at least one of lastName, firstName, dobFrom and dobTo is required");
+        }
+        if (search.dobFrom().isAfter(search.dobTo())) {
+            throw new InvalidSearchException("dobFrom must not be after dobTo");
+        }
+        int size = properties.getPagination().resolvePageSize(pageSize);
+        log.info("Searching customers by {} with page size {}", search, size);
+        SearchCursor after = cursor == null ? null : SearchCursor.decode(cursor);
+        if (after != null && search.order() == CustomerSearch.Order.DATE_OF_BIRTH && !isIsoDate(after.key())) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+        List<CustomerDTO> customers = customerStore.search(search, after == null ? null : after.key(),
+                after == null ? null : after.customerId(), size + 1);
+        if (customers.size() <= size) {
+            return new CustomerPageDTO(customers, null);
+        }
+        customers = customers.subList(0, size);
+        CustomerDTO last = customers.getLast();
+        String nextCursor = new SearchCursor(search.sortKey(last), UUID.fromString(last.getCustomerId())).encode();
+        return new CustomerPageDTO(customers, nextCursor);
+    }
+
+    /**
+     * The normalized prefix, empty when not searched on. Only letters are accepted, the same as names may contain.
+     */
+    private static String searchPrefix(String parameter, String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return "";
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                throw new InvalidSearchException(parameter + " should contain only alphabets");
+            }
+        }
+        return Customer.normalizeName(prefix);
+    }
 
-    public List<CustomerDTO> getCustomers(){
-        log.info("Fetching all customers");
-        List<Customer> customers = customerRepo.findAll();
-        return customers.stream().map(Customer::toDTO).toList();
+    private static boolean isIsoDate(String value) {
+        try {
+            LocalDate.parse(value);
+            return true;
+        } catch (DateTimeParseException ex) {
+            return false;
+        }
+    }
+
+    public void streamCustomers(Consumer<CustomerDTO> consumer){
+        log.info("Streaming all customers");
+        customerStore.forEach(consumer);
+    }
+
+    /**
+     * Resolves up to {@code customers.lookup.max-ids} distinct ids with one IN query per chunk. Customers come back in
+     * request order and ids that do not exist are listed in {@code missingIds} instead of failing the lookup.
+     */
+    public CustomerLookupDTO getCustomers(List<UUID> ids) {
+        LinkedHashSet<UUID> requested = new LinkedHashSet<>(ids);
+        requested.remove(null);
+        int maxIds = properties.getLookup().getMaxIds();
+        if (requested.size() > maxIds) {
+            throw new LookupTooLargeException("at most " + maxIds + " customer ids can be looked up at once");
+        }
+        log.info("Looking up {} customers", requested.size());
+        // ids the filter rules out are reported missing without being queried
+        List<UUID> candidates = new ArrayList<>(requested.size());
+        for (UUID id : requested) {
+            if (customerIdFilter.mightContain(id)) {
+                candidates.add(id);
+            }
+        }
+        int chunkSize = properties.getLookup().getChunkSize();
+        Map<String, CustomerDTO> found = new HashMap<>();
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            List<UUID> chunk = candidates.subList(from, Math.min(from + chunkSize, candidates.size()));
+            customerStore.findAllById(chunk).forEach(customer -> found.put(customer.getCustomerId(), customer));
+        }
+        List<CustomerDTO> customers = new ArrayList<>(found.size());
+        List<String> missingIds = new ArrayList<>(requested.size() - found.size());
+        for (UUID id : requested) {
+            CustomerDTO customer = found.get(id.toString());
+            if (customer != null) {
+                customers.add(customer);
+            } else {
+                missingIds.add(id.toString());
+            }
+        }
+        return new CustomerLookupDTO(customers, missingIds);
     }
 
     public CustomerDTO saveCustomer(CustomerRequestDTO customerDTO) {
@@ -32,29 +188,111 @@ public class CustomerService {
         Customer customer = new Customer();
         customer.setFirstName(customerDTO.getFirstName());
         customer.setLastName(customerDTO.getLastName());
-        customer.setDob(LocalDate.parse(customerDTO.getDob()));
-         return customerRepo.save(customer).toDTO();
+        customer.setDob(customerDTO.dobAsLocalDate());
+        Customer saved = groupCommitWriter.save(customer);
+        customerIdFilter.add(saved.getCustomerId());
+        CustomerDTO created = saved.toDTO();
+        customerStatistics.add(created);
+        changeFeed.publish(ChangeType.CREATED, saved.getCustomerId(), created);
+        return created;
+    }
+
+    public CustomerDTO getCustomer(UUID id, Set<CustomerField> fields) {
+        log.info("Fetching customer with id {} and fields {}", id, fields);
+        requireMightExist(id);
+        return customerStore.findProjectedById(id, fields)
+                .orElseThrow(() -> new CustomerNotFoundException("user not found"));
     }
 
     public CustomerDTO getCustomer(UUID id) {
         log.info("Fetching customer with id {}", id);
-        Customer customer = customerRepo.findById(id).orElseThrow(()->new CustomerNotFoundException("user not found"));
+        requireMightExist(id);
+        return customerCache.get(id, this::loadCustomer);
+    }
+
+    private CustomerDTO loadCustomer(UUID id) {
+        Customer customer = customerStore.findById(id).orElseThrow(()->new CustomerNotFoundException("user not found"));
         return customer.toDTO();
     }
 
+    /**
+     * Current version of a customer, answered from the cache when possible and otherwise by reading only the version
+     * column.
+     */
+    public long getCustomerVersion(UUID id) {
+        requireMightExist(id);
+        CustomerDTO cached = customerCache.peek(id);
+        if (cached != null && cached.getVersion() != null) {
+            return cached.getVersion();
+        }
+        return customerStore.findVersion(id)
+                .orElseThrow(() -> new CustomerNotFoundException("user not found"));
+    }
+
     public CustomerDTO updateCustomer(UUID id, CustomerRequestDTO customerDTO) {
         log.info("Preparing to update customer with id {}", id);
-        Customer customer = customerRepo.findById(id).orElseThrow(()->new CustomerNotFoundException("user not found"));
-        customer.setFirstName(customerDTO.getFirstName());
-        customer.setLastName(customerDTO.getLastName());
-        customer.setDob(LocalDate.parse(customerDTO.getDob()));
-        return customerRepo.save(customer).toDTO();
+        requireMightExist(id);
+        LocalDate dob = customerDTO.dobAsLocalDate();
+        CustomerDTO updated = new CustomerDTO(id, customerDTO.getFirstName(), customerDTO.getLastName(), dob);
+        CustomerDTO replaced = groupCommitWriter.update(id, customerDTO.getFirstName(), customerDTO.getLastName(), dob)
+                .orElseThrow(() -> new CustomerNotFoundException("user not found"));
+        updated.setVersion(replaced.getVersion() + 1);
+        customerStatistics.update(replaced, updated);
+        invalidateAfterUpdate(id);
+        changeFeed.publish(ChangeType.UPDATED, id, updated);
+        return updated;
 
     }
 
+    /**
+     * Applies the update only while the stored version still equals {@code expectedVersion}, in the same statement
+     * that writes the new values.
+     */
+    public CustomerDTO updateCustomer(UUID id, CustomerRequestDTO customerDTO, long expectedVersion) {
+        log.info("Preparing to update customer with id {} at version {}", id, expectedVersion);
+        requireMightExist(id);
+        LocalDate dob = customerDTO.dobAsLocalDate();
+        CustomerDTO updated = new CustomerDTO(id, customerDTO.getFirstName(), customerDTO.getLastName(), dob,
+                expectedVersion + 1);
+        Optional<CustomerDTO> replaced = groupCommitWriter.update(id, customerDTO.getFirstName(),
+                customerDTO.getLastName(), dob, expectedVersion);
+        if (replaced.isEmpty()) {
+            if (customerStore.existsById(id)) {
+                throw new CustomerVersionMismatchException("customer has been modified");
+            }
+            throw new CustomerNotFoundException("user not found");
+        }
+        customerStatistics.update(replaced.get(), updated);
+        invalidateAfterUpdate(id);
+        changeFeed.publish(ChangeType.UPDATED, id, updated);
+        return updated;
+    }
+
     public void deleteCustomer(UUID id) {
         log.info("Deleting customer with id {}", id);
-        Customer customer = customerRepo.findById(id).orElseThrow(()->new CustomerNotFoundException("user not found"));
-        customerRepo.delete(customer);
+        requireMightExist(id);
+        CustomerDTO removed = customerStore.delete(id)
+                .orElseThrow(() -> new CustomerNotFoundException("user not found"));
+        customerStatistics.delete(removed);
+        customerIdFilter.remove(id);
+        customerCache.invalidate(id);
+        changeFeed.publish(ChangeType.DELETED, id, null);
+    }
+
+    /**
+     * Drops the cached customer rather than putting the updated one: a put could land after a later update has
+     * committed and invalidated, caching this state over it.
+     */
+    private void invalidateAfterUpdate(UUID id) {
+        customerCache.invalidate(id);
+    }
+
+    /**
+     * Fails fast for ids the filter knows do not exist, before the cache or the store is consulted.
+     */
+    private void requireMightExist(UUID id) {
+        if (!customerIdFilter.mightContain(id)) {
+            throw new CustomerNotFoundException("user not found");
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.interview.customer.services;
+
+import com.interview.customer.exceptions.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset continuation token: the url-safe base64 of the last customer id returned.
+ */
+final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    static String encode(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static UUID decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+        if (bytes.length != 16) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,38 @@
+package com.interview.customer.services;
+
+import com.interview.customer.exceptions.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token of a search: the url-safe base64 of the last customer's id followed by its sort key.
+ */
+record SearchCursor(String key, UUID customerId) {
+
+    String encode() {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(16 + keyBytes.length);
+        buffer.putLong(customerId.getMostSignificantBits());
+        buffer.putLong(customerId.getLeastSignificantBits());
+        buffer.put(keyBytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static SearchCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+        if (bytes.length <= 16) {
+            throw new InvalidCursorException("invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        UUID customerId = new UUID(buffer.getLong(), buffer.getLong());
+        return new SearchCursor(new String(bytes, 16, bytes.length - 16, StandardCharsets.UTF_8), customerId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.interview.customer.sharding;
+
+import com.interview.customer.models.CustomerIdHash;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Maps customer ids to shards with consistent hashing. Each shard owns {@code virtualNodes} points on a 64-bit ring
+ * and an id belongs to the shard of the first point at or after its hash, so adding a shard only moves the ids that
+ * the new shard's points take over. Points are kept in sorted parallel arrays and found by binary search.
+ */
+public class ConsistentHashRing {
+
+    private final long[] points;
+    private final int[] owners;
+    private final int shardCount;
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("At least one shard and one virtual node are required");
+        }
+        this.shardCount = shardCount;
+        long[][] nodes = new long[shardCount * virtualNodes][];
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                nodes[shard * virtualNodes + node] = new long[]{CustomerIdHash.mix(((long) shard << 32) | node), shard};
+            }
+        }
+        Arrays.sort(nodes, (a, b) -> Long.compare(a[0], b[0]));
+        points = new long[nodes.length];
+        owners = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            points[i] = nodes[i][0];
+            owners[i] = (int) nodes[i][1];
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(UUID customerId) {
+        int index = Arrays.binarySearch(points, CustomerIdHash.of(customerId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+}
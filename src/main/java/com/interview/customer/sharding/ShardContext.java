@@ -0,0 +1,33 @@
+package com.interview.customer.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread works on. {@link ShardRoutingDataSource} reads it when a connection is requested, so it
+ * must be set before the transaction or query that needs the connection starts.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.interview.customer.sharding;
+
+import com.interview.customer.config.CustomerProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@Profile("sharded")
+@Slf4j
+public class ShardingConfiguration {
+
+    private static final String IN_MEMORY_URL_PREFIX = "jdbc:h2:mem:";
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource shardRoutingDataSource(CustomerProperties properties) {
+        CustomerProperties.Sharding sharding = properties.getSharding();
+        if (sharding.getUrls().isEmpty()) {
+            throw new IllegalStateException("customers.sharding.urls must list at least one shard");
+        }
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int i = 0; i < sharding.getUrls().size(); i++) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + i);
+            shard.setJdbcUrl(sharding.getUrls().get(i));
+            shard.setUsername(sharding.getUsername());
+            shard.setPassword(sharding.getPassword());
+            shard.setMaximumPoolSize(sharding.getPoolSize());
+            shards.add(shard);
+        }
+        log.info("Routing customers over {} shards", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public ConsistentHashRing consistentHashRing(ShardRoutingDataSource dataSource, CustomerProperties properties) {
+        return new ConsistentHashRing(dataSource.shardCount(), properties.getSharding().getVirtualNodes());
+    }
+
+    /**
+     * ddl-auto only sees the default shard, so the mapped tables are dropped and created here on every in-memory shard,
+     * before the web server starts. Any other shard holds data that outlives the process and is left alone; its schema
+     * is managed outside the application.
+     */
+    @Bean
+    public SmartInitializingSingleton shardSchemaExporter(ShardRoutingDataSource dataSource,
+                                                          EntityManagerFactory entityManagerFactory,
+                                                          CustomerProperties properties) {
+        return () -> {
+            SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+            List<String> urls = properties.getSharding().getUrls();
+            for (int shard = 0; shard < dataSource.shardCount(); shard++) {
+                if (!urls.get(shard).startsWith(IN_MEMORY_URL_PREFIX)) {
+                    log.info("Leaving the schema of shard {} as it is, {} is not an in-memory database", shard,
+                            urls.get(shard));
+                    continue;
+                }
+                ShardContext.callOn(shard, () -> {
+                    sessionFactory.getSchemaManager().dropMappedObjects(false);
+                    sessionFactory.getSchemaManager().exportMappedObjects(true);
+                    return null;
+                });
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.interview.customer.statistics;
+
+import com.interview.customer.dto.CustomerStatisticsDTO;
+import com.interview.customer.dto.LastNameCountDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters behind {@link CustomerStatistics}.
+ * <p>
+ * Births are counted per year and day of the year rather than per age, since ages move on with the calendar while the
+ * stored dates do not; age buckets are worked out from them when read. That read, like the birth-year histogram, costs
+ * one pass over about 370 counters per distinct birth year. Last names are kept in a ranking by count that every change
+ * re-sorts the name in, so the top ones are read off its front whatever the number of distinct names; a name leaves
+ * both the counts and the ranking when its count drops to zero. A change to one last name is serialized with other
+ * changes to it, the other counters are lock-free.
+ */
+class CustomerCounts {
+
+    private static final int[] AGE_BUCKET_STARTS = {0, 18, 25, 35, 45, 55, 65};
+    private static final String[] AGE_BUCKETS = {"0-17", "18-24", "25-34", "35-44", "45-54", "55-64", "65+"};
+    // month * 31 + day, so slots compare in calendar order whatever the year
+    private static final int DAY_SLOTS = 12 * 31;
+
+    private static final Comparator<LastNameCount> BY_COUNT_DESCENDING = Comparator
+            .comparingLong(LastNameCount::count).reversed()
+            .thenComparing(LastNameCount::lastName);
+
+    private final LongAdder total = new LongAdder();
+    private final ConcurrentHashMap<Integer, AtomicLongArray> birthsByYear = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> lastNames = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<LastNameCount> lastNameRanking = new ConcurrentSkipListSet<>(BY_COUNT_DESCENDING);
+
+    void add(String lastName, LocalDate dob, int delta) {
+        total.add(delta);
+        if (dob != null) {
+            birthsByYear.computeIfAbsent(dob.getYear(), year -> new AtomicLongArray(DAY_SLOTS)).addAndGet(daySlot(dob), delta);
+        }
+        if (lastName != null) {
+            // the ranking is changed inside compute, which holds out other changes to the same name
+            lastNames.compute(lastName, (name, count) -> {
+                long previous = count == null ? 0 : count;
+                long next = previous + delta;
+                if (previous > 0) {
+                    lastNameRanking.remove(new LastNameCount(name, previous));
+                }
+                if (next > 0) {
+                    lastNameRanking.add(new LastNameCount(name, next));
+                }
+                return next == 0 ? null : next;
+            });
+        }
+    }
+
+    long total() {
+        return total.sum();
+    }
+
+    CustomerStatisticsDTO toDTO(LocalDate today, int topLastNames) {
+        Map<Integer, Long> byBirthYear = new TreeMap<>();
+        long[] byAge = new long[AGE_BUCKETS.length];
+        int todaySlot = daySlot(today);
+        birthsByYear.forEach((year, days) -> {
+            long born = 0;
+            long birthdayToCome = 0;
+            for (int slot = 0; slot < DAY_SLOTS; slot++) {
+                long count = days.get(slot);
+                born += count;
+                if (slot > todaySlot) {
+                    birthdayToCome += count;
+                }
+            }
+            if (born != 0) {
+                int age = today.getYear() - year;
+                byBirthYear.put(year, born);
+                byAge[ageBucket(age)] += born - birthdayToCome;
+                byAge[ageBucket(age - 1)] += birthdayToCome;
+            }
+        });
+        Map<String, Long> byAgeBucket = new LinkedHashMap<>();
+        for (int i = 0; i < AGE_BUCKETS.length; i++) {
+            byAgeBucket.put(AGE_BUCKETS[i], byAge[i]);
+        }
+
+        CustomerStatisticsDTO statistics = new CustomerStatisticsDTO();
+        statistics.setTotal(total.sum());
+        statistics.setByBirthYear(byBirthYear);
+        statistics.setByAgeBucket(byAgeBucket);
+        statistics.setTopLastNames(topLastNames(topLastNames));
+        return statistics;
+    }
+
+    private List<LastNameCountDTO> topLastNames(int limit) {
+        List<LastNameCountDTO> top = new ArrayList<>(Math.max(0, limit));
+        for (LastNameCount ranked : lastNameRanking) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(new LastNameCountDTO(ranked.lastName(), ranked.count()));
+        }
+        return top;
+    }
+
+    /**
+     * Every non-zero counter by name, for comparing two sets of counts.
+     */
+    Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new HashMap<>();
+        snapshot.put("total", total.sum());
+        birthsByYear.forEach((year, days) -> {
+            for (int slot = 0; slot < DAY_SLOTS; slot++) {
+                long count = days.get(slot);
+                if (count != 0) {
+                    snapshot.put("born " + year + "/" + (slot / 31 + 1) + "/" + (slot % 31 + 1), count);
+                }
+            }
+        });
+        lastNames.forEach((lastName, count) -> snapshot.put("last name " + lastName, count));
+        return snapshot;
+    }
+
+    private record LastNameCount(String lastName, long count) {
+    }
+
+    private static int daySlot(LocalDate date) {
+        return (date.getMonthValue() - 1) * 31 + date.getDayOfMonth() - 1;
+    }
+
+    private static int ageBucket(int age) {
+        int bucket = 0;
+        while (bucket + 1 < AGE_BUCKET_STARTS.length && age >= AGE_BUCKET_STARTS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,150 @@
+package com.interview.customer.statistics;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerStatisticsDTO;
+import com.interview.customer.store.CustomerStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Customer aggregates kept current by the write paths, so a statistics request costs the same whatever the size of the
+ * table.
+ * <p>
+ * Updates and deletes have to take back what the customer counted before. The store returns the last name and date of
+ * birth each write replaced from the same statement that wrote over them, so two writes to the same customer cannot
+ * both take back the same values, and nothing has to be read or locked around the write.
+ * <p>
+ * The aggregates are rebuilt from the store on startup, in a lifecycle phase ahead of the web server so no request can
+ * write while they are counted. With {@code customers.statistics.consistency-check} on, every statistics request also
+ * recounts the store and reports whether the two agree.
+ */
+@Component
+@Slf4j
+public class CustomerStatistics implements SmartLifecycle {
+
+    // the embedded web server starts at DEFAULT_PHASE - 2048
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final CustomerStore customerStore;
+    private final int topLastNames;
+    private final boolean consistencyCheck;
+    private final Clock clock;
+    private volatile CustomerCounts counts = new CustomerCounts();
+    private volatile boolean running;
+
+    @Autowired
+    public CustomerStatistics(CustomerStore customerStore, CustomerProperties properties) {
+        this(customerStore, properties, Clock.systemDefaultZone());
+    }
+
+    CustomerStatistics(CustomerStore customerStore, CustomerProperties properties, Clock clock) {
+        this.customerStore = customerStore;
+        this.topLastNames = properties.getStatistics().getTopLastNames();
+        this.consistencyCheck = properties.getStatistics().isConsistencyCheck();
+        this.clock = clock;
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Replaces the aggregates with a full count of the store.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        CustomerCounts rebuilt = recount();
+        counts = rebuilt;
+        log.info("Counted {} customers for statistics in {} ms", rebuilt.total(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public CustomerStatisticsDTO statistics() {
+        CustomerCounts current = counts;
+        CustomerStatisticsDTO statistics = current.toDTO(LocalDate.now(clock), topLastNames);
+        if (consistencyCheck) {
+            statistics.setConsistent(check(current));
+        }
+        return statistics;
+    }
+
+    /**
+     * Counts a customer that has just been created.
+     */
+    public void add(CustomerDTO customer) {
+        counts.add(customer.getLastName(), customer.getDateOfBirth(), 1);
+    }
+
+    /**
+     * Moves a customer's counts from the values an update replaced to the values it wrote.
+     */
+    public void update(CustomerDTO replaced, CustomerDTO updated) {
+        CustomerCounts current = counts;
+        current.add(replaced.getLastName(), replaced.getDateOfBirth(), -1);
+        current.add(updated.getLastName(), updated.getDateOfBirth(), 1);
+    }
+
+    /**
+     * Takes back the counts of a customer that has just been deleted.
+     */
+    public void delete(CustomerDTO removed) {
+        counts.add(removed.getLastName(), removed.getDateOfBirth(), -1);
+    }
+
+    private CustomerCounts recount() {
+        CustomerCounts recounted = new CustomerCounts();
+        customerStore.forEach(customer -> recounted.add(customer.getLastName(), customer.getDateOfBirth(), 1));
+        return recounted;
+    }
+
+    /**
+     * Recounts the store and compares. Writes that land during the recount can show up as differences, so a mismatch
+     * is worth a second look rather than proof of drift.
+     */
+    private boolean check(CustomerCounts current) {
+        Map<String, Long> expected = recount().snapshot();
+        Map<String, Long> actual = current.snapshot();
+        if (expected.equals(actual)) {
+            return true;
+        }
+        Map<String, String> differences = new HashMap<>();
+        for (String key : expected.keySet()) {
+            if (!Objects.equals(expected.get(key), actual.get(key))) {
+                differences.put(key, actual.get(key) + " counted, " + expected.get(key) + " stored");
+            }
+        }
+        for (String key : actual.keySet()) {
+            if (!expected.containsKey(key)) {
+                differences.put(key, actual.get(key) + " counted, none stored");
+            }
+        }
+        log.warn("Customer statistics differ from the store in {} counts, for example {}", differences.size(),
+                differences.entrySet().stream().limit(10).toList());
+        return false;
+    }
+}
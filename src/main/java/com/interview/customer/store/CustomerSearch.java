@@ -0,0 +1,74 @@
+package com.interview.customer.store;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.models.Customer;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Criteria of a customer search: lower-case name prefixes, empty when not searched on, and an inclusive date-of-birth
+ * range.
+ * <p>
+ * Results are ordered by the last name when a last-name prefix is given, else by the first name when a first-name
+ * prefix is given, else by the date of birth, and then by id. That leading criterion becomes a range scan of its index,
+ * which already returns rows in result order, and the remaining ones are filters. Pages continue after the
+ * {@link #sortKey} and id of the last customer returned.
+ */
+public record CustomerSearch(String lastNamePrefix, String firstNamePrefix, LocalDate dobFrom, LocalDate dobTo) {
+
+    public static final LocalDate EARLIEST_DOB = LocalDate.of(0, 1, 1);
+    public static final LocalDate LATEST_DOB = LocalDate.of(9999, 12, 31);
+
+    public enum Order {
+        LAST_NAME, FIRST_NAME, DATE_OF_BIRTH
+    }
+
+    public Order order() {
+        if (!lastNamePrefix.isEmpty()) {
+            return Order.LAST_NAME;
+        }
+        return firstNamePrefix.isEmpty() ? Order.DATE_OF_BIRTH : Order.FIRST_NAME;
+    }
+
+    /**
+     * The value results are ordered by before their id: the normalized name, or the ISO date of birth, which sorts
+     * like the date itself for four-digit years.
+     */
+    public String sortKey(CustomerDTO customer) {
+        return switch (order()) {
+            case LAST_NAME -> Customer.normalizeName(customer.getLastName());
+            case FIRST_NAME -> Customer.normalizeName(customer.getFirstName());
+            case DATE_OF_BIRTH -> customer.getDateOfBirth().toString();
+        };
+    }
+
+    /**
+     * Result order, comparing ids as unsigned 128-bit values like the database does.
+     */
+    public Comparator<CustomerDTO> comparator() {
+        return Comparator.comparing(this::sortKey)
+                .thenComparing(customer -> UUID.fromString(customer.getCustomerId()), CustomerSearch::compareIds);
+    }
+
+    public boolean matches(String firstName, String lastName, LocalDate dob) {
+        return Customer.normalizeName(lastName).startsWith(lastNamePrefix)
+                && Customer.normalizeName(firstName).startsWith(firstNamePrefix)
+                && !dob.isBefore(dobFrom) && !dob.isAfter(dobTo);
+    }
+
+    /**
+     * The smallest string greater than every string starting with {@code prefix}, so a prefix match is the range
+     * {@code [prefix, prefixEnd(prefix))}.
+     */
+    public static String prefixEnd(String prefix) {
+        char last = prefix.charAt(prefix.length() - 1);
+        return prefix.substring(0, prefix.length() - 1) + (char) (last + 1);
+    }
+
+    static int compareIds(UUID left, UUID right) {
+        int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,78 @@
+package com.interview.customer.store;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.models.Customer;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Storage used by the service layer. Every implementation orders customers by id the way the database does, comparing
+ * UUIDs as unsigned 128-bit values, so keyset cursors mean the same thing whichever store is active.
+ */
+public interface CustomerStore {
+
+    /**
+     * Up to {@code limit} customers in id order, starting after {@code after} or from the beginning when it is
+     * {@code null}.
+     */
+    List<Customer> findPage(UUID after, int limit);
+
+    void forEach(Consumer<CustomerDTO> consumer);
+
+    List<CustomerDTO> findAllById(Collection<UUID> customerIds);
+
+    Optional<CustomerDTO> findProjectedById(UUID customerId, Set<CustomerField> fields);
+
+    List<CustomerDTO> findProjectedPage(UUID after, Set<CustomerField> fields, int limit);
+
+    /**
+     * Up to {@code limit} customers matching {@code search} in its order, starting after the customer with sort key
+     * {@code afterKey} and id {@code afterId}, or from the beginning when both are {@code null}.
+     */
+    List<CustomerDTO> search(CustomerSearch search, String afterKey, UUID afterId, int limit);
+
+    Optional<Customer> findById(UUID customerId);
+
+    Optional<Long> findVersion(UUID customerId);
+
+    boolean existsById(UUID customerId);
+
+    Customer save(Customer customer);
+
+    /**
+     * Saves all customers in one transaction per database, so atomically unless the store spans several databases.
+     */
+    List<Customer> saveAll(List<Customer> customers);
+
+    /**
+     * @return the last name, date of birth and version the update replaced, read in the same statement that wrote over
+     * them, empty if the customer does not exist
+     */
+    Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob);
+
+    /**
+     * Like {@link #update(UUID, String, String, LocalDate)}, but only while the customer's version is {@code version}.
+     *
+     * @return the values the update replaced, empty if the customer does not exist or its version is not
+     * {@code version}
+     */
+    Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob, long version);
+
+    /**
+     * @return the last name, date of birth and version of the customer deleted, empty if it does not exist
+     */
+    Optional<CustomerDTO> delete(UUID customerId);
+
+    /**
+     * Runs {@code writes} in one transaction where the store can, so the writes it makes share a single commit and all
+     * roll back when it throws. Elsewhere each write still commits on its own.
+     */
+    void inTransaction(Runnable writes);
+}
@@ -0,0 +1,566 @@
+package com.interview.customer.store;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.models.Customer;
+import com.interview.customer.models.UuidV7Generator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Customers kept in parallel primitive arrays instead of entities and database rows.
+ * <p>
+ * The store assigns time-ordered UUIDv7 ids under its write lock and appends each customer to the next slot, so slot
+ * order is id order and a page is a binary search followed by a forward scan. Ids are located through an
+ * open-addressing table of slot numbers keyed by the two halves of the UUID. Both names live in one shared UTF-8 byte
+ * arena and the date of birth is kept as an epoch day. An update rewrites the names in place when they fit in the
+ * bytes first allocated to the slot, and otherwise moves them to the end of the arena. A deleted customer leaves a
+ * tombstone in its slot until tombstones make up half of the slots, at which point the arrays and the arena are
+ * compacted. The arena alone is compacted when it is about to grow while half of it is bytes left behind by moves and
+ * deletes.
+ * <p>
+ * Writers are serialized by a {@link StampedLock}. Readers run optimistically without locking and only retry under
+ * the read lock when a write raced with them.
+ */
+@Component
+@Profile("in-memory")
+public class InMemoryCustomerStore implements CustomerStore {
+
+    private static final int DELETED = -1;
+    private static final int MIN_CAPACITY = 16;
+    private static final int PAGE_SIZE = 1000;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    // arena offset in the upper 32 bits, first name length in the next 16 and last name length in the lowest 16
+    private long[] names;
+    // arena bytes allocated to the slot, which its names may be shorter than
+    private int[] nameCapacities;
+    private int[] epochDays;
+    // DELETED marks a tombstone
+    private int[] versions;
+    private int slots;
+    private int deleted;
+
+    // slot + 1 per bucket, 0 for an empty bucket
+    private int[] index;
+
+    private byte[] arena;
+    private int arenaSize;
+    // bytes below arenaSize no live slot owns
+    private int arenaGarbage;
+
+    public InMemoryCustomerStore(CustomerProperties properties) {
+        int capacity = Math.max(MIN_CAPACITY, properties.getInMemory().getInitialCapacity());
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        names = new long[capacity];
+        nameCapacities = new int[capacity];
+        epochDays = new int[capacity];
+        versions = new int[capacity];
+        index = new int[tableSize(capacity)];
+        arena = new byte[capacity * 16];
+    }
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        return read(() -> {
+            List<Customer> page = new ArrayList<>(Math.min(limit, PAGE_SIZE));
+            for (int slot = firstSlotAfter(after); slot < slots && page.size() < limit; slot++) {
+                if (versions[slot] != DELETED) {
+                    page.add(customer(slot));
+                }
+            }
+            return page;
+        });
+    }
+
+    @Override
+    public void forEach(Consumer<CustomerDTO> consumer) {
+        // pages are copied out first so a slow consumer never holds up writers
+        UUID after = null;
+        List<Customer> page;
+        do {
+            page = findPage(after, PAGE_SIZE);
+            page.forEach(customer -> consumer.accept(customer.toDTO()));
+            after = page.isEmpty() ? null : page.getLast().getCustomerId();
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    @Override
+    public List<CustomerDTO> findAllById(Collection<UUID> customerIds) {
+        return read(() -> {
+            List<CustomerDTO> found = new ArrayList<>(customerIds.size());
+            for (UUID customerId : customerIds) {
+                int slot = findLive(customerId);
+                if (slot >= 0) {
+                    found.add(dto(slot));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public Optional<CustomerDTO> findProjectedById(UUID customerId, Set<CustomerField> fields) {
+        return read(() -> {
+            int slot = findLive(customerId);
+            return slot < 0 ? Optional.empty() : Optional.of(projected(slot, fields));
+        });
+    }
+
+    @Override
+    public List<CustomerDTO> findProjectedPage(UUID after, Set<CustomerField> fields, int limit) {
+        return read(() -> {
+            List<CustomerDTO> page = new ArrayList<>(Math.min(limit, PAGE_SIZE));
+            for (int slot = firstSlotAfter(after); slot < slots && page.size() < limit; slot++) {
+                if (versions[slot] != DELETED) {
+                    page.add(projected(slot, fields));
+                }
+            }
+            return page;
+        });
+    }
+
+    /**
+     * Scans every slot, since the store keeps no index beyond ids, and keeps the first {@code limit} matches in search
+     * order.
+     */
+    @Override
+    public List<CustomerDTO> search(CustomerSearch search, String afterKey, UUID afterId, int limit) {
+        Comparator<CustomerDTO> order = search.comparator();
+        CustomerDTO after = null;
+        if (afterKey != null) {
+            after = new CustomerDTO();
+            after.setCustomerId(afterId.toString());
+            switch (search.order()) {
+                case LAST_NAME -> after.setLastName(afterKey);
+                case FIRST_NAME -> after.setFirstName(afterKey);
+                case DATE_OF_BIRTH -> after.setDateOfBirth(LocalDate.parse(afterKey));
+            }
+        }
+        CustomerDTO start = after;
+        return read(() -> {
+            // a max-heap of the best matches so far, so the worst one is dropped when a better one turns up
+            PriorityQueue<CustomerDTO> best = new PriorityQueue<>(order.reversed());
+            for (int slot = 0; slot < slots; slot++) {
+                if (versions[slot] == DELETED
+                        || !search.matches(firstName(slot), lastName(slot), LocalDate.ofEpochDay(epochDays[slot]))) {
+                    continue;
+                }
+                CustomerDTO customer = dto(slot);
+                if (start != null && order.compare(customer, start) <= 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(customer);
+                } else if (order.compare(customer, best.peek()) < 0) {
+                    best.poll();
+                    best.add(customer);
+                }
+            }
+            List<CustomerDTO> page = new ArrayList<>(best);
+            page.sort(order);
+            return page;
+        });
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID customerId) {
+        return read(() -> {
+            int slot = findLive(customerId);
+            return slot < 0 ? Optional.empty() : Optional.of(customer(slot));
+        });
+    }
+
+    @Override
+    public Optional<Long> findVersion(UUID customerId) {
+        return read(() -> {
+            int slot = findLive(customerId);
+            return slot < 0 ? Optional.empty() : Optional.of((long) versions[slot]);
+        });
+    }
+
+    @Override
+    public boolean existsById(UUID customerId) {
+        return read(() -> findLive(customerId) >= 0);
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        return saveAll(List.of(customer)).getFirst();
+    }
+
+    @Override
+    public List<Customer> saveAll(List<Customer> customers) {
+        long stamp = lock.writeLock();
+        try {
+            UUID last = slots == 0 ? null : new UUID(mostSignificantBits[slots - 1], leastSignificantBits[slots - 1]);
+            for (Customer customer : customers) {
+                UUID customerId = customer.getCustomerId();
+                if (customerId != null) {
+                    if (last != null && compare(customerId, last.getMostSignificantBits(), last.getLeastSignificantBits()) <= 0) {
+                        throw new IllegalArgumentException("customer ids must be saved in ascending order");
+                    }
+                    last = customerId;
+                }
+            }
+            for (Customer customer : customers) {
+                if (customer.getCustomerId() == null) {
+                    customer.setCustomerId(UuidV7Generator.next());
+                }
+                append(customer);
+                customer.setVersion(0L);
+            }
+            return customers;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = findLive(customerId);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            CustomerDTO replaced = replaced(slot);
+            write(slot, firstName, lastName, dob);
+            return Optional.of(replaced);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob,
+                                        long version) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = findLive(customerId);
+            if (slot < 0 || versions[slot] != version) {
+                return Optional.empty();
+            }
+            CustomerDTO replaced = replaced(slot);
+            write(slot, firstName, lastName, dob);
+            return Optional.of(replaced);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<CustomerDTO> delete(UUID customerId) {
+        long stamp = lock.writeLock();
+        try {
+            int slot = findLive(customerId);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            CustomerDTO removed = replaced(slot);
+            remove(slot);
+            return Optional.of(removed);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs {@code writes} as they are: every write is applied and visible as soon as it returns, so there is no commit
+     * to share and nothing to roll back.
+     */
+    @Override
+    public void inTransaction(Runnable writes) {
+        writes.run();
+    }
+
+    public int size() {
+        return read(() -> slots - deleted);
+    }
+
+    int arenaSize() {
+        return read(() -> arenaSize);
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException raced) {
+                // a concurrent write moved the arrays underneath the reader, the locked read below is authoritative
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private int findLive(UUID customerId) {
+        long msb = customerId.getMostSignificantBits();
+        long lsb = customerId.getLeastSignificantBits();
+        int[] table = index;
+        int mask = table.length - 1;
+        for (int bucket = hash(msb, lsb) & mask; ; bucket = (bucket + 1) & mask) {
+            int entry = table[bucket];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            if (mostSignificantBits[slot] == msb && leastSignificantBits[slot] == lsb) {
+                return versions[slot] == DELETED ? -1 : slot;
+            }
+        }
+    }
+
+    private int firstSlotAfter(UUID after) {
+        if (after == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = slots;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(after, mostSignificantBits[mid], leastSignificantBits[mid]) >= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Customer customer(int slot) {
+        Customer customer = new Customer();
+        customer.setCustomerId(new UUID(mostSignificantBits[slot], leastSignificantBits[slot]));
+        customer.setFirstName(firstName(slot));
+        customer.setLastName(lastName(slot));
+        customer.setDob(LocalDate.ofEpochDay(epochDays[slot]));
+        customer.setVersion((long) versions[slot]);
+        return customer;
+    }
+
+    private CustomerDTO dto(int slot) {
+        return new CustomerDTO(new UUID(mostSignificantBits[slot], leastSignificantBits[slot]), firstName(slot),
+                lastName(slot), LocalDate.ofEpochDay(epochDays[slot]), versions[slot]);
+    }
+
+    /**
+     * The values a write is about to replace in {@code slot}, read under the write lock so no other write can get in
+     * between.
+     */
+    private CustomerDTO replaced(int slot) {
+        return new CustomerDTO(new UUID(mostSignificantBits[slot], leastSignificantBits[slot]), null, lastName(slot),
+                LocalDate.ofEpochDay(epochDays[slot]), versions[slot]);
+    }
+
+    private CustomerDTO projected(int slot, Set<CustomerField> fields) {
+        CustomerDTO customer = new CustomerDTO();
+        for (CustomerField field : fields) {
+            switch (field) {
+                case CUSTOMER_ID -> customer.setCustomerId(
+                        new UUID(mostSignificantBits[slot], leastSignificantBits[slot]).toString());
+                case FIRST_NAME -> customer.setFirstName(firstName(slot));
+                case LAST_NAME -> customer.setLastName(lastName(slot));
+                case DATE_OF_BIRTH -> customer.setDateOfBirth(LocalDate.ofEpochDay(epochDays[slot]));
+            }
+        }
+        return customer;
+    }
+
+    private String firstName(int slot) {
+        long packed = names[slot];
+        return new String(arena, (int) (packed >>> 32), (int) (packed >>> 16) & 0xFFFF, StandardCharsets.UTF_8);
+    }
+
+    private String lastName(int slot) {
+        long packed = names[slot];
+        int firstLength = (int) (packed >>> 16) & 0xFFFF;
+        return new String(arena, (int) (packed >>> 32) + firstLength, (int) packed & 0xFFFF, StandardCharsets.UTF_8);
+    }
+
+    private void append(Customer customer) {
+        if (slots == mostSignificantBits.length) {
+            int capacity = slots + (slots >> 1);
+            mostSignificantBits = Arrays.copyOf(mostSignificantBits, capacity);
+            leastSignificantBits = Arrays.copyOf(leastSignificantBits, capacity);
+            names = Arrays.copyOf(names, capacity);
+            nameCapacities = Arrays.copyOf(nameCapacities, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        int slot = slots;
+        mostSignificantBits[slot] = customer.getCustomerId().getMostSignificantBits();
+        leastSignificantBits[slot] = customer.getCustomerId().getLeastSignificantBits();
+        storeNames(slot, customer.getFirstName(), customer.getLastName(), false);
+        epochDays[slot] = Math.toIntExact(customer.getDob().toEpochDay());
+        versions[slot] = 0;
+        slots++;
+        if (slots * 2 > index.length) {
+            index = buildIndex(tableSize(slots));
+        } else {
+            insert(index, slot);
+        }
+    }
+
+    private void remove(int slot) {
+        versions[slot] = DELETED;
+        deleted++;
+        arenaGarbage += nameCapacities[slot];
+        if (slots >= MIN_CAPACITY && deleted * 2 >= slots) {
+            compact();
+        }
+    }
+
+    private void write(int slot, String firstName, String lastName, LocalDate dob) {
+        storeNames(slot, firstName, lastName, true);
+        epochDays[slot] = Math.toIntExact(dob.toEpochDay());
+        versions[slot]++;
+    }
+
+    /**
+     * Copies both names of {@code slot} into the arena, into the bytes the slot already has when {@code reuse} is set
+     * and they are enough.
+     */
+    private void storeNames(int slot, String firstName, String lastName, boolean reuse) {
+        byte[] first = firstName.getBytes(StandardCharsets.UTF_8);
+        byte[] last = lastName.getBytes(StandardCharsets.UTF_8);
+        if (first.length > 0xFFFF || last.length > 0xFFFF) {
+            throw new IllegalArgumentException("names longer than 65535 bytes are not supported");
+        }
+        int length = first.length + last.length;
+        int offset;
+        if (reuse && length <= nameCapacities[slot]) {
+            offset = (int) (names[slot] >>> 32);
+        } else {
+            if (arenaSize + length > arena.length && arenaGarbage >= arenaSize >> 1) {
+                compactArena();
+            }
+            if (arenaSize + length > arena.length) {
+                long grown = Math.max((long) arena.length + (arena.length >> 1), (long) arenaSize + length);
+                if (grown > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("name arena is full");
+                }
+                arena = Arrays.copyOf(arena, (int) grown);
+            }
+            if (reuse) {
+                arenaGarbage += nameCapacities[slot];
+            }
+            offset = arenaSize;
+            arenaSize += length;
+            nameCapacities[slot] = length;
+        }
+        System.arraycopy(first, 0, arena, offset, first.length);
+        System.arraycopy(last, 0, arena, offset + first.length, last.length);
+        names[slot] = ((long) offset << 32) | ((long) first.length << 16) | last.length;
+    }
+
+    /**
+     * Copies the names of the live slots to the front of a fresh arena, trimming each slot's bytes to its names. Slots
+     * keep their positions, unlike {@link #compact()}, so a write can compact in the middle of changing a slot.
+     */
+    private void compactArena() {
+        byte[] compacted = new byte[arena.length];
+        int compactedSize = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (versions[slot] == DELETED) {
+                continue;
+            }
+            long packed = names[slot];
+            int length = (int) ((packed >>> 16) & 0xFFFF) + (int) (packed & 0xFFFF);
+            System.arraycopy(arena, (int) (packed >>> 32), compacted, compactedSize, length);
+            names[slot] = ((long) compactedSize << 32) | (packed & 0xFFFFFFFFL);
+            nameCapacities[slot] = length;
+            compactedSize += length;
+        }
+        arena = compacted;
+        arenaSize = compactedSize;
+        arenaGarbage = 0;
+    }
+
+    private void compact() {
+        byte[] compacted = new byte[Math.max(MIN_CAPACITY, arena.length)];
+        int compactedSize = 0;
+        int live = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            if (versions[slot] == DELETED) {
+                continue;
+            }
+            long packed = names[slot];
+            int length = (int) ((packed >>> 16) & 0xFFFF) + (int) (packed & 0xFFFF);
+            System.arraycopy(arena, (int) (packed >>> 32), compacted, compactedSize, length);
+            mostSignificantBits[live] = mostSignificantBits[slot];
+            leastSignificantBits[live] = leastSignificantBits[slot];
+            names[live] = ((long) compactedSize << 32) | (packed & 0xFFFFFFFFL);
+            nameCapacities[live] = length;
+            epochDays[live] = epochDays[slot];
+            versions[live] = versions[slot];
+            compactedSize += length;
+            live++;
+        }
+        arena = compacted;
+        arenaSize = compactedSize;
+        arenaGarbage = 0;
+        slots = live;
+        deleted = 0;
+        index = buildIndex(tableSize(Math.max(live, MIN_CAPACITY)));
+    }
+
+    private int[] buildIndex(int size) {
+        int[] table = new int[size];
+        for (int slot = 0; slot < slots; slot++) {
+            insert(table, slot);
+        }
+        return table;
+    }
+
+    private void insert(int[] table, int slot) {
+        int mask = table.length - 1;
+        int bucket = hash(mostSignificantBits[slot], leastSignificantBits[slot]) & mask;
+        while (table[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = slot + 1;
+    }
+
+    private static int tableSize(int entries) {
+        // at most half full, so probe sequences stay short and always end at an empty bucket
+        return Integer.highestOneBit(Math.max(MIN_CAPACITY, entries) * 4 - 1);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int compare(UUID id, long msb, long lsb) {
+        int result = Long.compareUnsigned(id.getMostSignificantBits(), msb);
+        return result != 0 ? result : Long.compareUnsigned(id.getLeastSignificantBits(), lsb);
+    }
+}
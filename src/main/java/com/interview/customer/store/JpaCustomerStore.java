@@ -0,0 +1,137 @@
+package com.interview.customer.store;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.models.Customer;
+import com.interview.customer.repositories.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Component
+@Profile("!in-memory & !sharded")
+@RequiredArgsConstructor
+public class JpaCustomerStore implements CustomerStore {
+
+    // sorts before every generated id, so the first page needs no separate query
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final CustomerRepository customerRepo;
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        return after == null
+                ? customerRepo.findAllByOrderByCustomerIdAsc(Limit.of(limit))
+                : customerRepo.findByCustomerIdGreaterThanOrderByCustomerIdAsc(after, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(Consumer<CustomerDTO> consumer) {
+        try (Stream<CustomerDTO> customers = customerRepo.streamAllBy()) {
+            customers.forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<CustomerDTO> findAllById(Collection<UUID> customerIds) {
+        return customerRepo.findAllByCustomerIdIn(customerIds);
+    }
+
+    @Override
+    public Optional<CustomerDTO> findProjectedById(UUID customerId, Set<CustomerField> fields) {
+        return customerRepo.findProjectedById(customerId, fields);
+    }
+
+    @Override
+    public List<CustomerDTO> findProjectedPage(UUID after, Set<CustomerField> fields, int limit) {
+        return customerRepo.findProjectedPage(after, fields, limit);
+    }
+
+    @Override
+    public List<CustomerDTO> search(CustomerSearch search, String afterKey, UUID afterId, int limit) {
+        UUID after = afterId == null ? FIRST_ID : afterId;
+        return switch (search.order()) {
+            case LAST_NAME -> {
+                String key = afterKey == null ? "" : afterKey;
+                yield customerRepo.searchByLastName(max(search.lastNamePrefix(), key),
+                        CustomerSearch.prefixEnd(search.lastNamePrefix()), key, after, search.firstNamePrefix() + "%",
+                        search.dobFrom(), search.dobTo(), Limit.of(limit));
+            }
+            case FIRST_NAME -> {
+                String key = afterKey == null ? "" : afterKey;
+                yield customerRepo.searchByFirstName(max(search.firstNamePrefix(), key),
+                        CustomerSearch.prefixEnd(search.firstNamePrefix()), key, after, search.dobFrom(),
+                        search.dobTo(), Limit.of(limit));
+            }
+            case DATE_OF_BIRTH -> {
+                LocalDate key = afterKey == null ? search.dobFrom() : LocalDate.parse(afterKey);
+                LocalDate from = key.isAfter(search.dobFrom()) ? key : search.dobFrom();
+                yield customerRepo.searchByDateOfBirth(from, search.dobTo(), key, after, Limit.of(limit));
+            }
+        };
+    }
+
+    private static String max(String left, String right) {
+        return left.compareTo(right) >= 0 ? left : right;
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID customerId) {
+        return customerRepo.findById(customerId);
+    }
+
+    @Override
+    public Optional<Long> findVersion(UUID customerId) {
+        return customerRepo.findVersionByCustomerId(customerId);
+    }
+
+    @Override
+    public boolean existsById(UUID customerId) {
+        return customerRepo.existsById(customerId);
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        return customerRepo.save(customer);
+    }
+
+    @Override
+    public List<Customer> saveAll(List<Customer> customers) {
+        // one transaction, so Hibernate flushes the whole list as JDBC batches
+        return customerRepo.saveAll(customers);
+    }
+
+    @Override
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob) {
+        return customerRepo.updateReturningReplaced(customerId, firstName, lastName, dob);
+    }
+
+    @Override
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob,
+                                        long version) {
+        return customerRepo.updateReturningReplaced(customerId, firstName, lastName, dob, version);
+    }
+
+    @Override
+    public Optional<CustomerDTO> delete(UUID customerId) {
+        return customerRepo.deleteReturningReplaced(customerId);
+    }
+
+    @Override
+    @Transactional
+    public void inTransaction(Runnable writes) {
+        writes.run();
+    }
+}
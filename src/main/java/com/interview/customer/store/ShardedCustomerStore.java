@@ -0,0 +1,295 @@
+package com.interview.customer.store;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.metrics.LatencyHistogram;
+import com.interview.customer.metrics.LatencyRegistry;
+import com.interview.customer.models.Customer;
+import com.interview.customer.models.UuidV7Generator;
+import com.interview.customer.repositories.CustomerRepository;
+import com.interview.customer.sharding.ConsistentHashRing;
+import com.interview.customer.sharding.ShardContext;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Spreads customers over several databases by a consistent hash of their id. Calls for one customer go to its shard
+ * only; pages are read from every shard in parallel and merged in id order, so cursors work as on a single database.
+ * New customers get their id here, before the insert, because the id decides the shard.
+ */
+@Component
+@Profile("sharded")
+public class ShardedCustomerStore implements CustomerStore {
+
+    private final JpaCustomerStore shardStore;
+    private final ConsistentHashRing ring;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LatencyRegistry latencyRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedCustomerStore(CustomerRepository customerRepository, ConsistentHashRing ring,
+                                PlatformTransactionManager transactionManager, LatencyRegistry latencyRegistry) {
+        this.shardStore = new JpaCustomerStore(customerRepository);
+        this.ring = ring;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.latencyRegistry = latencyRegistry;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.close();
+    }
+
+    public int shardOf(UUID customerId) {
+        return ring.shardOf(customerId);
+    }
+
+    @Override
+    public List<Customer> findPage(UUID after, int limit) {
+        List<List<Customer>> pages = onEveryShard("findPage", () -> shardStore.findPage(after, limit));
+        return merge(pages, Comparator.comparing(Customer::getCustomerId, CustomerSearch::compareIds), limit);
+    }
+
+    @Override
+    public void forEach(Consumer<CustomerDTO> consumer) {
+        for (int shard = 0; shard < ring.shardCount(); shard++) {
+            onShard(shard, "forEach", () -> readOnlyTransaction.execute(status -> {
+                shardStore.forEach(consumer);
+                return null;
+            }));
+        }
+    }
+
+    @Override
+    public List<CustomerDTO> findAllById(Collection<UUID> customerIds) {
+        List<List<UUID>> idsByShard = groupByShard(customerIds, Function.identity());
+        List<CustomerDTO> customers = new ArrayList<>(customerIds.size());
+        onShards(idsByShard, "findAllById", shard -> shardStore.findAllById(idsByShard.get(shard)))
+                .forEach(customers::addAll);
+        return customers;
+    }
+
+    @Override
+    public Optional<CustomerDTO> findProjectedById(UUID customerId, Set<CustomerField> fields) {
+        return onShard(ring.shardOf(customerId), "findProjectedById",
+                () -> shardStore.findProjectedById(customerId, fields));
+    }
+
+    @Override
+    public List<CustomerDTO> findProjectedPage(UUID after, Set<CustomerField> fields, int limit) {
+        List<List<CustomerDTO>> pages = onEveryShard("findProjectedPage",
+                () -> shardStore.findProjectedPage(after, fields, limit));
+        return merge(pages, Comparator.comparing(customer -> UUID.fromString(customer.getCustomerId()),
+                CustomerSearch::compareIds), limit);
+    }
+
+    @Override
+    public List<CustomerDTO> search(CustomerSearch search, String afterKey, UUID afterId, int limit) {
+        List<List<CustomerDTO>> pages = onEveryShard("search", () -> shardStore.search(search, afterKey, afterId, limit));
+        return merge(pages, search.comparator(), limit);
+    }
+
+    @Override
+    public Optional<Customer> findById(UUID customerId) {
+        return onShard(ring.shardOf(customerId), "findById", () -> shardStore.findById(customerId));
+    }
+
+    @Override
+    public Optional<Long> findVersion(UUID customerId) {
+        return onShard(ring.shardOf(customerId), "findVersion", () -> shardStore.findVersion(customerId));
+    }
+
+    @Override
+    public boolean existsById(UUID customerId) {
+        return onShard(ring.shardOf(customerId), "existsById", () -> shardStore.existsById(customerId));
+    }
+
+    @Override
+    public Customer save(Customer customer) {
+        assignId(customer);
+        return onShard(ring.shardOf(customer.getCustomerId()), "save", () -> shardStore.save(customer));
+    }
+
+    /**
+     * Writes each shard's part of the list in parallel, one transaction per shard, and returns the customers in the
+     * order they were given.
+     */
+    @Override
+    public List<Customer> saveAll(List<Customer> customers) {
+        customers.forEach(ShardedCustomerStore::assignId);
+        List<List<Integer>> positionsByShard = groupByShard(IntStream.range(0, customers.size()).boxed().toList(),
+                position -> customers.get(position).getCustomerId());
+        Customer[] saved = new Customer[customers.size()];
+        onShards(positionsByShard, "saveAll", shard -> {
+            List<Integer> positions = positionsByShard.get(shard);
+            List<Customer> savedOnShard = shardStore.saveAll(positions.stream().map(customers::get).toList());
+            for (int i = 0; i < positions.size(); i++) {
+                saved[positions.get(i)] = savedOnShard.get(i);
+            }
+            return null;
+        });
+        return Arrays.asList(saved);
+    }
+
+    @Override
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob) {
+        return onShard(ring.shardOf(customerId), "update",
+                () -> shardStore.update(customerId, firstName, lastName, dob));
+    }
+
+    @Override
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob,
+                                        long version) {
+        return onShard(ring.shardOf(customerId), "update",
+                () -> shardStore.update(customerId, firstName, lastName, dob, version));
+    }
+
+    @Override
+    public Optional<CustomerDTO> delete(UUID customerId) {
+        return onShard(ring.shardOf(customerId), "delete", () -> shardStore.delete(customerId));
+    }
+
+    /**
+     * Runs {@code writes} without a surrounding transaction: a transaction is bound to one shard's connection, while the
+     * writes may go to any shard, so each commits on its own shard.
+     */
+    @Override
+    public void inTransaction(Runnable writes) {
+        writes.run();
+    }
+
+    private static void assignId(Customer customer) {
+        if (customer.getCustomerId() == null) {
+            customer.setCustomerId(UuidV7Generator.next());
+        }
+    }
+
+    private <T> T onShard(int shard, String operation, Supplier<T> action) {
+        LatencyHistogram histogram = latencyRegistry.histogram("shard-" + shard, "CustomerStore." + operation);
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = ShardContext.callOn(shard, action);
+            failed = false;
+            return result;
+        } finally {
+            histogram.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    private <T> List<T> onEveryShard(String operation, Supplier<T> action) {
+        boolean[] all = new boolean[ring.shardCount()];
+        Arrays.fill(all, true);
+        return onShards(all, operation, shard -> action.get());
+    }
+
+    private <T> List<T> onShards(List<? extends List<?>> workByShard, String operation, IntFunction<T> action) {
+        boolean[] shards = new boolean[workByShard.size()];
+        for (int shard = 0; shard < shards.length; shard++) {
+            shards[shard] = !workByShard.get(shard).isEmpty();
+        }
+        return onShards(shards, operation, action);
+    }
+
+    /**
+     * Runs {@code action} for every selected shard, on virtual threads when more than one shard is involved, and
+     * returns the results in shard order.
+     */
+    private <T> List<T> onShards(boolean[] shards, String operation, IntFunction<T> action) {
+        List<Integer> selected = new ArrayList<>(shards.length);
+        for (int shard = 0; shard < shards.length; shard++) {
+            if (shards[shard]) {
+                selected.add(shard);
+            }
+        }
+        if (selected.size() == 1) {
+            int shard = selected.getFirst();
+            return Collections.singletonList(onShard(shard, operation, () -> action.apply(shard)));
+        }
+        List<Future<T>> futures = new ArrayList<>(selected.size());
+        for (int shard : selected) {
+            futures.add(executor.submit(() -> onShard(shard, operation, () -> action.apply(shard))));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private <T> List<List<T>> groupByShard(Collection<T> items, Function<T, UUID> id) {
+        List<List<T>> byShard = new ArrayList<>(ring.shardCount());
+        for (int shard = 0; shard < ring.shardCount(); shard++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (T item : items) {
+            byShard.get(ring.shardOf(id.apply(item))).add(item);
+        }
+        return byShard;
+    }
+
+    /**
+     * Merges pages that are each sorted in {@code order} into the first {@code limit} items overall.
+     */
+    private static <T> List<T> merge(List<List<T>> pages, Comparator<T> order, int limit) {
+        int[] positions = new int[pages.size()];
+        List<T> merged = new ArrayList<>(limit);
+        while (merged.size() < limit) {
+            int next = -1;
+            T nextItem = null;
+            for (int page = 0; page < pages.size(); page++) {
+                if (positions[page] < pages.get(page).size()) {
+                    T candidate = pages.get(page).get(positions[page]);
+                    if (nextItem == null || order.compare(candidate, nextItem) < 0) {
+                        next = page;
+                        nextItem = candidate;
+                    }
+                }
+            }
+            if (next < 0) {
+                break;
+            }
+            merged.add(nextItem);
+            positions[next]++;
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,25 @@
+package com.interview.customer.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 1 to 255 ASCII letters, as {@code @Pattern(regexp = "^[a-zA-Z]{1,255}$")} but checked in a single scan without
+ * the regex engine. {@code null} is valid.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = CustomerNameValidator.class)
+public @interface CustomerName {
+
+    String message() default "Name should contain only alphabets";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
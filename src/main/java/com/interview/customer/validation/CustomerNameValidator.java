@@ -0,0 +1,27 @@
+package com.interview.customer.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CustomerNameValidator implements ConstraintValidator<CustomerName, String> {
+
+    static final int MAX_LENGTH = 255;
+
+    @Override
+    public boolean isValid(String name, ConstraintValidatorContext context) {
+        if (name == null) {
+            return true;
+        }
+        int length = name.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
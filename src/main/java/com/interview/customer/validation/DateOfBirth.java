@@ -0,0 +1,28 @@
+package com.interview.customer.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Checks {@code dob} of a {@code CustomerRequestDTO} against {@code yyyy-MM-dd}, accepting exactly what
+ * {@code ^\d{4}-(0[1-9]|1[0-2])-(0[1-9]|[12]\d|3[01])$} accepts, and keeps the parsed date on the request so it is
+ * not parsed again. Declared on the class because it writes to the request, but reported on the {@code dob} field.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = DateOfBirthValidator.class)
+public @interface DateOfBirth {
+
+    String MESSAGE = "Date of birth should be in yyyy-MM-dd format";
+
+    String message() default MESSAGE;
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
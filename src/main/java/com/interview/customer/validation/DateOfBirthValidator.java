@@ -0,0 +1,57 @@
+package com.interview.customer.validation;
+
+import com.interview.customer.dto.CustomerRequestDTO;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+public class DateOfBirthValidator implements ConstraintValidator<DateOfBirth, CustomerRequestDTO> {
+
+    @Override
+    public boolean isValid(CustomerRequestDTO customer, ConstraintValidatorContext context) {
+        if (customer == null || customer.getDob() == null) {
+            return true;
+        }
+        String dob = customer.getDob();
+        if (dob.length() != 10 || dob.charAt(4) != '-' || dob.charAt(7) != '-') {
+            return invalid(context);
+        }
+        int year = digits(dob, 0, 4);
+        int month = digits(dob, 5, 7);
+        int day = digits(dob, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return invalid(context);
+        }
+        // the format allows days such as 02-31; those are left unparsed and fail in LocalDate.parse as before
+        if (day <= Month.of(month).length(Year.isLeap(year))) {
+            customer.setParsedDob(LocalDate.of(year, month, day));
+        }
+        return true;
+    }
+
+    /**
+     * The ASCII digits from {@code from} to {@code to} as a number, or -1 if any other character is there.
+     */
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean invalid(ConstraintValidatorContext context) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+                .addPropertyNode("dob")
+                .addConstraintViolation();
+        return false;
+    }
+}
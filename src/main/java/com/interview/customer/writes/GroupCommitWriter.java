@@ -0,0 +1,239 @@
+package com.interview.customer.writes;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.exceptions.ConcurrencyLimitExceededException;
+import com.interview.customer.models.Customer;
+import com.interview.customer.store.CustomerStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Funnels single-customer creates and updates through one writer thread that commits them in micro-batches, so
+ * concurrent requests share a transaction commit instead of paying for one each.
+ * <p>
+ * The writer takes whatever is queued, waits up to {@code customers.group-commit.max-wait} for more while the batch is
+ * below {@code max-batch-size}, and runs the batch in one {@link CustomerStore#inTransaction transaction}. Each caller
+ * blocks until that commit and gets back its own result: the saved customer, the values an update replaced, or the
+ * exception its write threw. A batch that fails to commit is rolled back and its writes are retried in a transaction
+ * each, so a bad write only fails its own caller. A full queue sheds the caller, as the concurrency limits do.
+ * <p>
+ * Off by default; the writes then go straight to the store, one transaction per request.
+ */
+@Component
+@Slf4j
+public class GroupCommitWriter implements SmartLifecycle {
+
+    // stops after the embedded web server (DEFAULT_PHASE - 2048) has finished its requests
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final CustomerStore customerStore;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingWrite<?>> queue;
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public GroupCommitWriter(CustomerStore customerStore, CustomerProperties properties) {
+        CustomerProperties.GroupCommit groupCommit = properties.getGroupCommit();
+        this.customerStore = customerStore;
+        this.enabled = groupCommit.isEnabled();
+        this.maxBatchSize = groupCommit.getMaxBatchSize();
+        this.maxWaitNanos = groupCommit.getMaxWait().toNanos();
+        this.queue = new ArrayBlockingQueue<>(groupCommit.getQueueCapacity());
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            running = true;
+            writer = Thread.ofPlatform().name("customer-group-commit").daemon().start(this::run);
+        }
+    }
+
+    /**
+     * Stops taking new writes, lets the writer commit what is queued, and commits any write that raced past it alone.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            try {
+                current.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        PendingWrite<?> straggler;
+        while ((straggler = queue.poll()) != null) {
+            commitAlone(straggler);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public Customer save(Customer customer) {
+        if (!running) {
+            return customerStore.save(customer);
+        }
+        String firstName = customer.getFirstName();
+        String lastName = customer.getLastName();
+        LocalDate dob = customer.getDob();
+        // a rolled-back batch leaves its entities with ids and versions, so every attempt saves a fresh copy
+        return submit(() -> {
+            Customer attempt = new Customer();
+            attempt.setFirstName(firstName);
+            attempt.setLastName(lastName);
+            attempt.setDob(dob);
+            return customerStore.save(attempt);
+        });
+    }
+
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob) {
+        return submit(() -> customerStore.update(customerId, firstName, lastName, dob));
+    }
+
+    public Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob,
+                                        long version) {
+        return submit(() -> customerStore.update(customerId, firstName, lastName, dob, version));
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private <T> T submit(Supplier<T> write) {
+        if (!running) {
+            return write.get();
+        }
+        PendingWrite<T> pending = new PendingWrite<>(write);
+        if (!queue.offer(pending)) {
+            throw new ConcurrencyLimitExceededException("too many writes waiting to be committed");
+        }
+        // stop() may have drained the queue before this write got in; whoever removes it first runs it
+        if (!running && queue.remove(pending)) {
+            return write.get();
+        }
+        try {
+            return pending.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void run() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite<?> next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException ex) {
+                // only stop() ends the writer, and it does so without interrupting
+                Thread.currentThread().interrupt();
+                batch.forEach(this::commitAlone);
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Group commit writer failed on a batch of {} writes", batch.size(), ex);
+                batch.forEach(pending -> pending.result.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite<?>> batch) {
+        try {
+            customerStore.inTransaction(() -> batch.forEach(PendingWrite::apply));
+        } catch (RuntimeException ex) {
+            log.warn("Group commit of {} writes failed, committing them one at a time: {}", batch.size(), ex.getMessage());
+            batch.forEach(this::commitAlone);
+            return;
+        }
+        batch.forEach(PendingWrite::complete);
+    }
+
+    private void commitAlone(PendingWrite<?> pending) {
+        try {
+            customerStore.inTransaction(pending::apply);
+            pending.complete();
+        } catch (RuntimeException ex) {
+            pending.result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * One caller's write. Its outcome is only handed to the caller once the transaction it ran in has committed.
+     */
+    private static final class PendingWrite<T> {
+
+        private final Supplier<T> write;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private RuntimeException failure;
+
+        private PendingWrite(Supplier<T> write) {
+            this.write = write;
+        }
+
+        private void apply() {
+            try {
+                value = write.get();
+                failure = null;
+            } catch (RuntimeException ex) {
+                value = null;
+                failure = ex;
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.interview.customer.cache;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.exceptions.CustomerNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerCacheTest {
+
+    private CustomerProperties properties;
+    private CustomerCache customerCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CustomerProperties();
+        properties.getCache().setMaximumSize(2);
+        customerCache = new CustomerCache(properties);
+    }
+
+    @Test
+    void shouldLoadOnMissAndServeHitsFromCache() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        customerCache.get(id, key -> { loads.incrementAndGet(); return customer(key); });
+        customerCache.get(id, key -> { loads.incrementAndGet(); return customer(key); });
+
+        assertEquals(1, loads.get());
+        assertEquals(1, customerCache.stats().getHits());
+        assertEquals(1, customerCache.stats().getMisses());
+    }
+
+    @Test
+    void shouldReloadAfterInvalidation() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        customerCache.get(id, key -> { loads.incrementAndGet(); return customer(key); });
+        customerCache.invalidate(id);
+        customerCache.get(id, key -> { loads.incrementAndGet(); return customer(key); });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheFailedLoads() {
+        UUID id = UUID.randomUUID();
+        assertThrows(CustomerNotFoundException.class, () -> customerCache.get(id, key -> {
+            throw new CustomerNotFoundException("user not found");
+        }));
+        assertEquals("Maneesh", customerCache.get(id, this::customer).getFirstName());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTimeToLive() {
+        properties.getCache().setTimeToLive(Duration.ZERO);
+        customerCache = new CustomerCache(properties);
+        UUID id = UUID.randomUUID();
+        customerCache.get(id, this::customer);
+        customerCache.get(id, this::customer);
+
+        assertEquals(2, customerCache.stats().getMisses());
+        assertEquals(1, customerCache.stats().getExpirations());
+    }
+
+    @Test
+    void shouldEvictWhenFull() {
+        for (int i = 0; i < 5; i++) {
+            customerCache.get(UUID.randomUUID(), this::customer);
+        }
+        assertEquals(2, customerCache.stats().getSize());
+        assertEquals(3, customerCache.stats().getEvictions());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesIntoOneLoad() throws Exception {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<CustomerDTO>> results = new ArrayList<>();
+            results.add(executor.submit(() -> customerCache.get(id, key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                awaitQuietly(release);
+                return customer(key);
+            })));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> customerCache.get(id, key -> {
+                    loads.incrementAndGet();
+                    return customer(key);
+                })));
+            }
+            release.countDown();
+            for (Future<CustomerDTO> result : results) {
+                assertEquals("Maneesh", result.get(5, TimeUnit.SECONDS).getFirstName());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    private CustomerDTO customer(UUID id) {
+        return new CustomerDTO(id, "Maneesh", "Pandey", LocalDate.of(1990, 1, 1));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.interview.customer.cache;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.store.InMemoryCustomerStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerIdFilterTest {
+
+    private CustomerIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        CustomerProperties properties = new CustomerProperties();
+        properties.getIdFilter().setExpectedCustomers(10_000);
+        properties.getIdFilter().setFalsePositiveRate(0.01);
+        filter = new CustomerIdFilter(properties, new InMemoryCustomerStore(properties));
+    }
+
+    @Test
+    void shouldLetEverythingThroughUntilRebuilt() {
+        UUID id = UUID.randomUUID();
+        filter.add(id);
+        filter.remove(id);
+        assertTrue(filter.mightContain(UUID.randomUUID()));
+
+        filter.rebuild();
+        assertTrue(filter.mightContain(id), "removal before the rebuild must be ignored");
+    }
+
+    @Test
+    void shouldKeepStoredIdsAfterOthersAreRemoved() {
+        filter.rebuild();
+        List<UUID> kept = new ArrayList<>();
+        List<UUID> removed = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            filter.add(id);
+            (i % 2 == 0 ? kept : removed).add(id);
+        }
+        removed.forEach(filter::remove);
+
+        kept.forEach(id -> assertTrue(filter.mightContain(id)));
+        long falsePositives = removed.stream().filter(filter::mightContain).count();
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, falsePositives + " of 15000 missing ids passed");
+    }
+
+    @Test
+    void shouldCountConcurrentAddsOfTheSameCounters() throws Exception {
+        filter.rebuild();
+        UUID id = UUID.randomUUID();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 3; i++) {
+                    filter.add(id);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < 11; i++) {
+            filter.remove(id);
+        }
+        assertTrue(filter.mightContain(id));
+        filter.remove(id);
+        assertFalse(filter.mightContain(id));
+    }
+}
@@ -0,0 +1,83 @@
+package com.interview.customer.changefeed;
+
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerChangeEventDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeRingBufferTest {
+
+    @Test
+    void shouldReadEventsInSequenceOrder() {
+        ChangeRingBuffer ring = new ChangeRingBuffer(8);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertEquals(1, ring.publish(ChangeType.CREATED, first, null));
+        assertEquals(2, ring.publish(ChangeType.DELETED, second, null));
+
+        assertEquals(first.toString(), ring.get(1).getCustomerId());
+        assertEquals(ChangeType.DELETED, ring.get(2).getType());
+        assertNull(ring.get(3));
+    }
+
+    @Test
+    void shouldReportOverwrittenEvents() {
+        ChangeRingBuffer ring = new ChangeRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            ring.publish(ChangeType.UPDATED, UUID.randomUUID(), null);
+        }
+
+        assertEquals(4, ring.capacity());
+        assertEquals(7, ring.oldestSequence());
+        assertThrows(IllegalStateException.class, () -> ring.get(6));
+        assertEquals(7, ring.get(7).getSequence());
+        assertEquals(10, ring.get(10).getSequence());
+    }
+
+    @Test
+    void shouldNotLetALappedProducerOverwriteALaterEvent() {
+        ChangeRingBuffer ring = new ChangeRingBuffer(4);
+        for (int i = 0; i < 6; i++) {
+            ring.publish(ChangeType.UPDATED, UUID.randomUUID(), null);
+        }
+
+        // a producer that claimed sequence 2 and stalled until 6 had taken the same slot
+        ring.store(new CustomerChangeEventDTO(2, ChangeType.UPDATED, UUID.randomUUID().toString(), null, Instant.now()));
+
+        assertEquals(6, ring.get(6).getSequence());
+        assertThrows(IllegalStateException.class, () -> ring.get(2));
+    }
+
+    @Test
+    void shouldAssignUniqueSequencesToConcurrentPublishers() throws InterruptedException {
+        ChangeRingBuffer ring = new ChangeRingBuffer(1 << 14);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    ring.publish(ChangeType.CREATED, UUID.randomUUID(), null);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Set<String> customerIds = new HashSet<>();
+        for (long sequence = 1; sequence <= ring.lastSequence(); sequence++) {
+            CustomerChangeEventDTO event = ring.get(sequence);
+            assertEquals(sequence, event.getSequence());
+            customerIds.add(event.getCustomerId());
+        }
+        assertEquals(8000, customerIds.size());
+    }
+}
@@ -4,9 +4,19 @@ package com.interview.customer.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.interview.customer.controllers.CustomersController;
+import com.interview.customer.dto.BulkCreateResponseDTO;
 import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.dto.CustomerLookupDTO;
+import com.interview.customer.dto.CustomerPageDTO;
 import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.encoding.CustomerBinaryCodec;
+import com.interview.customer.encoding.CustomerBinaryHttpMessageConverter;
+import com.interview.customer.exceptions.ConcurrencyLimitExceededException;
+import com.interview.customer.exceptions.GlobalExceptionHandler;
+import com.interview.customer.exceptions.InvalidSearchException;
 import com.interview.customer.models.Customer;
+import com.interview.customer.services.CustomerBulkService;
 import com.interview.customer.services.CustomerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,18 +28,24 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +57,8 @@ public class CustomersControllerTest {
 
     @Mock
     private CustomerService customerService;
+    @Mock
+    private CustomerBulkService customerBulkService;
     @InjectMocks
     private CustomersController customerDetailsController;
 
@@ -50,9 +68,13 @@ public class CustomersControllerTest {
     @BeforeEach
     public void setUp(){
         MockitoAnnotations.openMocks(this);
-        customerDetailsController = new CustomersController(customerService);
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        customerDetailsController = new CustomersController(customerService, customerBulkService, objectMapper);
         customers = new ArrayList<>();
-        mockMvc = MockMvcBuilders.standaloneSetup(customerDetailsController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(customerDetailsController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
 
         customer = new Customer();
         customer.setCustomerId(UUID.randomUUID());
@@ -68,9 +90,37 @@ public class CustomersControllerTest {
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         String jsonData = mapper.writeValueAsString(customerDTO);
-        when(customerService.getCustomers()).thenReturn(customerDTO);
+        when(customerService.getCustomers(null, null)).thenReturn(new CustomerPageDTO(customerDTO, null));
         mockMvc.perform(get("/customers")).andExpect(MockMvcResultMatchers.status().isOk())
-                .andExpect(content().json(jsonData));
+                .andExpect(content().json(jsonData))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(CustomersController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void shouldNegotiateBinaryCustomersAndKeepJsonAsDefault() throws Exception {
+        List<CustomerDTO> customerDTO = customers.stream().map(Customer::toDTO).toList();
+        when(customerService.getCustomers(null, null)).thenReturn(new CustomerPageDTO(customerDTO, null));
+        MockMvc negotiating = MockMvcBuilders.standaloneSetup(customerDetailsController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new CustomerBinaryHttpMessageConverter())
+                .build();
+
+        byte[] binary = negotiating.perform(get("/customers").accept(CustomerBinaryCodec.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().contentType(CustomerBinaryCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(customerDTO, CustomerBinaryCodec.readCustomers(new ByteArrayInputStream(binary)));
+
+        negotiating.perform(get("/customers").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void shouldReturnNextCursorWhenMoreCustomersExist() throws Exception {
+        List<CustomerDTO> customerDTO = customers.stream().map(Customer::toDTO).toList();
+        when(customerService.getCustomers("abc", 1)).thenReturn(new CustomerPageDTO(customerDTO, "next"));
+        mockMvc.perform(get("/customers").param("cursor", "abc").param("pageSize", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(CustomersController.NEXT_CURSOR_HEADER, "next"));
     }
 
     @Test
@@ -85,6 +135,35 @@ public class CustomersControllerTest {
                 .andExpect(content().json(jsonData));
     }
 
+    @Test
+    public void shouldReturnETagForCustomer() throws Exception {
+        customer.setVersion(2L);
+        when(customerService.getCustomer(customer.getCustomerId())).thenReturn(customer.toDTO());
+        mockMvc.perform(get("/customers/" + customer.getCustomerId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string("ETag", "\"2\""));
+    }
+
+    @Test
+    public void shouldReturnNotModifiedWithoutLoadingCustomerWhenETagMatches() throws Exception {
+        when(customerService.getCustomerVersion(customer.getCustomerId())).thenReturn(2L);
+        mockMvc.perform(get("/customers/" + customer.getCustomerId()).header("If-None-Match", "\"2\""))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(content().string(""));
+        verify(customerService, never()).getCustomer(any(UUID.class));
+    }
+
+    @Test
+    public void shouldReturnCustomerWhenETagIsStale() throws Exception {
+        customer.setVersion(3L);
+        when(customerService.getCustomerVersion(customer.getCustomerId())).thenReturn(3L);
+        when(customerService.getCustomer(customer.getCustomerId())).thenReturn(customer.toDTO());
+        mockMvc.perform(get("/customers/" + customer.getCustomerId()).header("If-None-Match", "\"2\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
     @Test
     public void shouldCreateCustomer() throws Exception {
         CustomerRequestDTO customerRequestDTO = new CustomerRequestDTO();
@@ -106,6 +185,49 @@ public class CustomersControllerTest {
                 .andExpect(content().json(jsonResponse));
     }
 
+    @Test
+    public void shouldCreateCustomersInBulk() throws Exception {
+        CustomerRequestDTO customerRequestDTO = new CustomerRequestDTO();
+        customerRequestDTO.setFirstName("Maneesh");
+        customerRequestDTO.setLastName("Pandey");
+        customerRequestDTO.setDob("1990-01-01");
+
+        BulkCreateResponseDTO response = new BulkCreateResponseDTO();
+        response.setCreated(1);
+        response.setCustomers(List.of(customer.toDTO()));
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        String jsonRequest = mapper.writeValueAsString(List.of(customerRequestDTO));
+        String jsonResponse = mapper.writeValueAsString(response);
+
+        when(customerBulkService.saveCustomers(Mockito.anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/customers/bulk")
+                .contentType("application/json")
+                .content(jsonRequest))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().json(jsonResponse));
+    }
+
+    @Test
+    public void shouldLookUpCustomersById() throws Exception {
+        String missingId = UUID.randomUUID().toString();
+        CustomerLookupDTO lookup = new CustomerLookupDTO(List.of(customer.toDTO()), List.of(missingId));
+
+        ObjectMapper mapper = new ObjectMapper();
+        String jsonRequest = mapper.writeValueAsString(List.of(customer.getCustomerId().toString(), missingId));
+        String jsonResponse = mapper.registerModule(new JavaTimeModule()).writeValueAsString(lookup);
+
+        when(customerService.getCustomers(Mockito.<List<UUID>>any())).thenReturn(lookup);
+
+        mockMvc.perform(post("/customers/lookup")
+                .contentType("application/json")
+                .content(jsonRequest))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().json(jsonResponse));
+    }
+
     @Test
     public void shouldReturnBadRequestForInvalidCustomer() throws Exception {
         CustomerRequestDTO customerRequestDTO = new CustomerRequestDTO();
@@ -121,6 +243,111 @@ public class CustomersControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
+    @Test
+    public void shouldReportMalformedDateOfBirthOnTheDobField() throws Exception {
+        CustomerRequestDTO customerRequestDTO = new CustomerRequestDTO();
+        customerRequestDTO.setFirstName("Maneesh");
+        customerRequestDTO.setLastName("Pandey");
+        customerRequestDTO.setDob("1990/01/01");
+
+        mockMvc.perform(post("/customers")
+                .contentType("application/json")
+                .content(new ObjectMapper().writeValueAsString(customerRequestDTO)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].field").value("dob"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].reason").value("Date of birth should be in yyyy-MM-dd format"));
+        verifyNoInteractions(customerService);
+    }
+
+    @Test
+    public void shouldReturnOnlyRequestedFields() throws Exception {
+        CustomerDTO projected = new CustomerDTO();
+        projected.setCustomerId(customer.getCustomerId().toString());
+        projected.setLastName("Pandey");
+        when(customerService.getCustomer(customer.getCustomerId(), EnumSet.of(CustomerField.CUSTOMER_ID, CustomerField.LAST_NAME)))
+                .thenReturn(projected);
+
+        mockMvc.perform(get("/customers/" + customer.getCustomerId()).param("fields", "customerId, lastName"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(content().json("{\"customerId\":\"" + customer.getCustomerId() + "\",\"lastName\":\"Pandey\"}", true));
+    }
+
+    @Test
+    public void shouldSearchCustomersWithNextCursor() throws Exception {
+        List<CustomerDTO> customerDTO = customers.stream().map(Customer::toDTO).toList();
+        when(customerService.searchCustomers("pan", null, LocalDate.of(1980, 1, 1), null, "abc", 1))
+                .thenReturn(new CustomerPageDTO(customerDTO, "next"));
+        mockMvc.perform(get("/customers/search").param("lastName", "pan").param("dobFrom", "1980-01-01")
+                        .param("cursor", "abc").param("pageSize", "1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].lastName").value("Pandey"))
+                .andExpect(MockMvcResultMatchers.header().string(CustomersController.NEXT_CURSOR_HEADER, "next"));
+    }
+
+    @Test
+    public void shouldReturnBadRequestForInvalidSearch() throws Exception {
+        when(customerService.searchCustomers(null, null, null, null, null, null))
+                .thenThrow(new InvalidSearchException("at least one of lastName, firstName, dobFrom and dobTo is required"));
+        mockMvc.perform(get("/customers/search"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(get("/customers/search").param("dobFrom", "01/01/1980"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void shouldReturnBadRequestForUnknownField() throws Exception {
+        mockMvc.perform(get("/customers").param("fields", "lastName,password"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void shouldReturnBadRequestForEmptyFieldSelection() throws Exception {
+        mockMvc.perform(get("/customers").param("fields", ","))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    public void shouldUpdateCustomerMatchingIfMatchVersion() throws Exception {
+        CustomerRequestDTO customerRequestDTO = new CustomerRequestDTO();
+        customerRequestDTO.setFirstName("Neeraj");
+        customerRequestDTO.setLastName("Pandey");
+        customerRequestDTO.setDob("1990-01-01");
+        customer.setVersion(5L);
+
+        when(customerService.updateCustomer(Mockito.eq(customer.getCustomerId()), Mockito.any(CustomerRequestDTO.class), Mockito.eq(4L)))
+                .thenReturn(customer.toDTO());
+
+        mockMvc.perform(put("/customers/" + customer.getCustomerId())
+                .header("If-Match", "\"4\"")
+                .contentType("application/json")
+                .content(new ObjectMapper().writeValueAsString(customerRequestDTO)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    public void shouldReturnPreconditionFailedForWeakIfMatch() throws Exception {
+        CustomerRequestDTO customerRequestDTO = new CustomerRequestDTO();
+        customerRequestDTO.setFirstName("Neeraj");
+        customerRequestDTO.setLastName("Pandey");
+        customerRequestDTO.setDob("1990-01-01");
+
+        mockMvc.perform(put("/customers/" + customer.getCustomerId())
+                .header("If-Match", "W/\"4\"")
+                .contentType("application/json")
+                .content(new ObjectMapper().writeValueAsString(customerRequestDTO)))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+    }
+
+    @Test
+    public void shouldShedRequestsBeyondTheConcurrencyLimit() throws Exception {
+        when(customerService.getCustomer(any(UUID.class)))
+                .thenThrow(new ConcurrencyLimitExceededException("reads are at their concurrency limit of 20"));
+        mockMvc.perform(get("/customers/" + customer.getCustomerId()))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     public void shouldReturnBadRequestForInvalidCustomerId() throws Exception {
         String customerId = "invalid-customer-id";
@@ -0,0 +1,117 @@
+package com.interview.customer.durable;
+
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeJournalTest {
+
+    private static final long FLUSH_NANOS = 1_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayChangesAfterTheGivenSequence() throws IOException {
+        ChangeJournal journal = new ChangeJournal(directory, FLUSH_NANOS);
+        journal.open(0);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        journal.append(ChangeType.CREATED, first, new CustomerDTO(first, "Maneesh", "Pandey", LocalDate.of(1990, 1, 1), 0));
+        journal.append(ChangeType.UPDATED, first, new CustomerDTO(first, "Manish", "Pandey", LocalDate.of(1990, 1, 1)));
+        journal.append(ChangeType.DELETED, second, null);
+        journal.close();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        assertEquals(3, new ChangeJournal(directory, FLUSH_NANOS).replay(1, entries::add));
+
+        assertEquals(2, entries.size());
+        assertEquals(2, entries.get(0).sequence());
+        assertEquals(ChangeType.UPDATED, entries.get(0).type());
+        assertEquals(new CustomerRow(first, "Manish", "Pandey", LocalDate.of(1990, 1, 1), null), entries.get(0).row());
+        assertEquals(ChangeType.DELETED, entries.get(1).type());
+        assertEquals(new CustomerRow(second, null, null, null, null), entries.get(1).row());
+    }
+
+    @Test
+    void shouldReadUpToATornRecord() throws IOException {
+        ChangeJournal journal = new ChangeJournal(directory, FLUSH_NANOS);
+        journal.open(0);
+        for (int i = 0; i < 3; i++) {
+            UUID id = UUID.randomUUID();
+            journal.append(ChangeType.CREATED, id, new CustomerDTO(id, "First" + i, "Last" + i, LocalDate.of(1990, 1, 1), 0));
+        }
+        journal.close();
+        Path file = journalFiles().getFirst();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 3);
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        assertEquals(2, new ChangeJournal(directory, FLUSH_NANOS).replay(0, entries::add));
+        assertEquals(2, entries.size());
+    }
+
+    @Test
+    void shouldStartAFileOnRotationAndPruneTheOnesASnapshotCovers() throws IOException {
+        ChangeJournal journal = new ChangeJournal(directory, FLUSH_NANOS);
+        journal.open(0);
+        journal.append(ChangeType.DELETED, UUID.randomUUID(), null);
+        journal.append(ChangeType.DELETED, UUID.randomUUID(), null);
+        assertEquals(2, journal.rotate());
+        journal.append(ChangeType.DELETED, UUID.randomUUID(), null);
+        assertEquals(2, journalFiles().size());
+
+        journal.prune(2);
+        journal.close();
+
+        assertEquals(List.of("journal-00000000000000000003.log"),
+                journalFiles().stream().map(file -> file.getFileName().toString()).toList());
+        List<JournalEntry> entries = new ArrayList<>();
+        assertEquals(3, new ChangeJournal(directory, FLUSH_NANOS).replay(2, entries::add));
+        assertEquals(1, entries.size());
+    }
+
+    @Test
+    void shouldStopJournalingAfterAFailedAppendUntilTheNextRotation() throws IOException {
+        ChangeJournal journal = new ChangeJournal(directory, FLUSH_NANOS);
+        journal.open(0);
+        UUID id = UUID.randomUUID();
+        journal.append(ChangeType.DELETED, UUID.randomUUID(), null);
+        // writeUTF cannot encode more than 65535 bytes, so this fails half way through the record
+        journal.append(ChangeType.CREATED, id, new CustomerDTO(id, "M".repeat(70_000), "Pandey", LocalDate.of(1990, 1, 1), 0));
+        journal.append(ChangeType.DELETED, UUID.randomUUID(), null);
+
+        assertTrue(journal.isBroken());
+        assertEquals(2, journal.failedAppends());
+        assertEquals(3, journal.rotate());
+        assertFalse(journal.isBroken());
+        journal.append(ChangeType.DELETED, id, null);
+        journal.close();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        assertEquals(4, new ChangeJournal(directory, FLUSH_NANOS).replay(3, entries::add));
+        assertEquals(1, entries.size());
+        assertEquals(new CustomerRow(id, null, null, null, null), entries.getFirst().row());
+    }
+
+    private List<Path> journalFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("journal-")).sorted().toList();
+        }
+    }
+}
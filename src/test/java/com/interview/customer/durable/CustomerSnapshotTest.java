@@ -0,0 +1,72 @@
+package com.interview.customer.durable;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackEveryCustomerInOrder() throws IOException {
+        List<CustomerRow> rows = List.of(
+                new CustomerRow(new UUID(0, 1), "Maneesh", "Pandey", LocalDate.of(1990, 1, 1), 3L),
+                new CustomerRow(new UUID(0, 2), "Ana", null, null, null),
+                new CustomerRow(new UUID(1, 0), "Émile", "Zola", LocalDate.of(1840, 4, 2), 0L));
+        CustomerSnapshot snapshot;
+        try (CustomerSnapshot.Writer writer = CustomerSnapshot.create(directory, 42)) {
+            for (CustomerRow row : rows) {
+                writer.append(row);
+            }
+            snapshot = writer.commit();
+        }
+
+        List<CustomerRow> read = new ArrayList<>();
+        assertEquals(3, snapshot.read(read::add));
+        assertEquals(rows, read);
+        assertEquals(42, snapshot.journalSequence());
+    }
+
+    @Test
+    void shouldListCompleteSnapshotsNewestFirst() throws IOException {
+        for (long sequence : new long[]{7, 12, 9}) {
+            try (CustomerSnapshot.Writer writer = CustomerSnapshot.create(directory, sequence)) {
+                writer.commit();
+            }
+        }
+        try (CustomerSnapshot.Writer unfinished = CustomerSnapshot.create(directory, 15)) {
+            unfinished.append(new CustomerRow(UUID.randomUUID(), "A", "B", null, 0L));
+        }
+
+        assertEquals(List.of(12L, 9L, 7L),
+                CustomerSnapshot.list(directory).stream().map(CustomerSnapshot::journalSequence).toList());
+        assertFalse(Files.exists(directory.resolve("snapshot-00000000000000000015.bin.tmp")));
+    }
+
+    @Test
+    void shouldRejectATruncatedSnapshot() throws IOException {
+        CustomerSnapshot snapshot;
+        try (CustomerSnapshot.Writer writer = CustomerSnapshot.create(directory, 1)) {
+            writer.append(new CustomerRow(UUID.randomUUID(), "Maneesh", "Pandey", LocalDate.of(1990, 1, 1), 0L));
+            snapshot = writer.commit();
+        }
+        try (FileChannel channel = FileChannel.open(snapshot.file(), StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(snapshot.file()) - 4);
+        }
+
+        assertThrows(IOException.class, () -> snapshot.read(row -> { }));
+    }
+}
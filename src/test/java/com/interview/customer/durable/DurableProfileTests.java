@@ -0,0 +1,104 @@
+package com.interview.customer.durable;
+
+import com.interview.customer.CustomerApplication;
+import com.interview.customer.dto.ChangeType;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.exceptions.CustomerNotFoundException;
+import com.interview.customer.services.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableProfileTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldKeepCustomersAcrossARestart() {
+        UUID id;
+        try (ConfigurableApplicationContext context = start()) {
+            id = UUID.fromString(context.getBean(CustomerService.class).saveCustomer(request("Maneesh")).getCustomerId());
+        }
+
+        try (ConfigurableApplicationContext context = start()) {
+            assertEquals("Maneesh", context.getBean(CustomerService.class).getCustomer(id).getFirstName());
+        }
+    }
+
+    @Test
+    void shouldRestoreALostDatabaseFromTheSnapshotAndTheJournalAfterIt() throws Exception {
+        List<UUID> ids = new ArrayList<>();
+        try (ConfigurableApplicationContext context = start()) {
+            CustomerService customerService = context.getBean(CustomerService.class);
+            for (int i = 0; i < 25; i++) {
+                ids.add(UUID.fromString(customerService.saveCustomer(request("First" + i)).getCustomerId()));
+            }
+            context.getBean(DurableStorage.class).snapshot();
+
+            customerService.updateCustomer(ids.get(0), request("Renamed"), 0);
+            customerService.updateCustomer(ids.get(3), request("Unconditional"));
+            customerService.updateCustomer(ids.get(3), request("UnconditionalAgain"));
+            customerService.deleteCustomer(ids.get(1));
+            ids.add(UUID.fromString(customerService.saveCustomer(request("AfterSnapshot")).getCustomerId()));
+        }
+        Files.delete(directory.resolve("customers.mv.db"));
+
+        try (ConfigurableApplicationContext context = start()) {
+            CustomerService customerService = context.getBean(CustomerService.class);
+            CustomerDTO renamed = customerService.getCustomer(ids.get(0));
+            assertEquals("Renamed", renamed.getFirstName());
+            assertEquals(1L, renamed.getVersion());
+            assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomer(ids.get(1)));
+            assertEquals("First2", customerService.getCustomer(ids.get(2)).getFirstName());
+            CustomerDTO unconditional = customerService.getCustomer(ids.get(3));
+            assertEquals("UnconditionalAgain", unconditional.getFirstName());
+            assertEquals(2L, unconditional.getVersion());
+            assertEquals("AfterSnapshot", customerService.getCustomer(ids.getLast()).getFirstName());
+        }
+    }
+
+    @Test
+    void shouldReplayTheHighestVersionOfACustomerWhateverTheJournalOrder() {
+        UUID id = UUID.randomUUID();
+        JournalEntry second = updated(7, id, "Second", 2L);
+        JournalEntry first = updated(8, id, "First", 1L);
+        JournalEntry deleted = new JournalEntry(9, ChangeType.DELETED, new CustomerRow(id, null, null, null, null));
+
+        assertSame(second, DurableStorage.newer(second, first));
+        assertSame(second, DurableStorage.newer(first, second));
+        assertSame(deleted, DurableStorage.newer(second, deleted));
+        assertSame(deleted, DurableStorage.newer(deleted, updated(10, id, "Third", 3L)));
+    }
+
+    private static JournalEntry updated(long sequence, UUID id, String firstName, long version) {
+        return new JournalEntry(sequence, ChangeType.UPDATED,
+                new CustomerRow(id, firstName, "Pandey", LocalDate.of(1990, 1, 1), version));
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CustomerApplication.class)
+                .profiles("durable")
+                .properties("server.port=0", "customers.durable.directory=" + directory)
+                .run();
+    }
+
+    private static CustomerRequestDTO request(String firstName) {
+        CustomerRequestDTO request = new CustomerRequestDTO();
+        request.setFirstName(firstName);
+        request.setLastName("Pandey");
+        request.setDob("1990-01-01");
+        return request;
+    }
+}
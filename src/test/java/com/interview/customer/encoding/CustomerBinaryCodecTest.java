@@ -0,0 +1,80 @@
+package com.interview.customer.encoding;
+
+import com.interview.customer.dto.CustomerDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerBinaryCodecTest {
+
+    @Test
+    void shouldRoundTripCustomersIncludingProjectedOnes() throws IOException {
+        CustomerDTO full = new CustomerDTO(UUID.randomUUID(), "Maneesh", "Pandey", LocalDate.of(1990, 1, 1));
+        CustomerDTO beforeEpoch = new CustomerDTO(UUID.randomUUID(), "Zoë", "Łukasz", LocalDate.of(1900, 2, 28));
+        CustomerDTO projected = new CustomerDTO();
+        projected.setLastName("Pandey");
+
+        List<CustomerDTO> decoded = CustomerBinaryCodec.readCustomers(input(encode(List.of(full, beforeEpoch, projected))));
+
+        assertEquals(List.of(full, beforeEpoch, projected), decoded);
+    }
+
+    @Test
+    void shouldRoundTripBodiesLargerThanTheBuffer() throws IOException {
+        List<CustomerDTO> customers = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            customers.add(new CustomerDTO(UUID.randomUUID(), "Maneesh" + i, "Pandey", LocalDate.ofEpochDay(i - 500)));
+        }
+        customers.add(500, new CustomerDTO(UUID.randomUUID(), "é".repeat(5_000), "Pandey", LocalDate.of(1990, 1, 1)));
+
+        assertEquals(customers, CustomerBinaryCodec.readCustomers(input(encode(customers))));
+    }
+
+    @Test
+    void shouldWriteTheIdAsSixteenBytesAndTheDateAsEpochDays() throws IOException {
+        CustomerDTO customer = new CustomerDTO(UUID.randomUUID(), "A", "B", LocalDate.of(1970, 1, 2));
+
+        // count, flags, id, two one-byte names with their lengths, one zig-zag varint byte for day 1
+        assertEquals(1 + 1 + 16 + 2 + 2 + 1, encode(List.of(customer)).length);
+    }
+
+    @Test
+    void shouldRejectTruncatedAndUnknownInput() {
+        byte[] encoded = encode(List.of(new CustomerDTO(UUID.randomUUID(), "Maneesh", "Pandey", LocalDate.of(1990, 1, 1))));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThrows(IOException.class, () -> CustomerBinaryCodec.readCustomers(input(truncated)));
+        assertThrows(IOException.class, () -> CustomerBinaryCodec.readCustomer(input(new byte[]{(byte) 0x80})));
+    }
+
+    @Test
+    void shouldRejectADateOfBirthOutsideTheSupportedRange() {
+        // date of birth flag, then a ten-byte varint of all ones, which zig-zag decodes to Long.MIN_VALUE epoch days
+        byte[] encoded = {0x08, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0x01};
+
+        assertThrows(IOException.class, () -> CustomerBinaryCodec.readCustomer(input(encoded)));
+    }
+
+    private static byte[] encode(List<CustomerDTO> customers) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            CustomerBinaryCodec.writeCustomers(customers, bytes);
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ByteArrayInputStream input(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+}
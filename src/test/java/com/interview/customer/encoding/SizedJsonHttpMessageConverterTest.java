@@ -0,0 +1,45 @@
+package com.interview.customer.encoding;
+
+import com.interview.customer.dto.CustomerDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SizedJsonHttpMessageConverterTest {
+
+    private final SizedJsonHttpMessageConverter converter =
+            new SizedJsonHttpMessageConverter(Jackson2ObjectMapperBuilder.json().build(), 2048);
+
+    @Test
+    void shouldSendBodiesBelowTheThresholdWithTheirLength() throws IOException {
+        MockHttpOutputMessage output = write(1);
+
+        assertTrue(output.getBodyAsString().startsWith("[{\"customerId\""));
+        assertEquals(output.getBodyAsBytes().length, output.getHeaders().getContentLength());
+    }
+
+    @Test
+    void shouldStreamBodiesAtOrAboveTheThresholdWithoutALength() throws IOException {
+        MockHttpOutputMessage output = write(100);
+
+        assertTrue(output.getBodyAsBytes().length > 2048);
+        assertTrue(output.getBodyAsString().endsWith("}]"));
+        assertEquals(-1, output.getHeaders().getContentLength());
+    }
+
+    private MockHttpOutputMessage write(int customers) throws IOException {
+        CustomerDTO customer = new CustomerDTO(UUID.randomUUID(), "Maneesh", "Pandey", LocalDate.of(1990, 1, 1));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(Collections.nCopies(customers, customer), List.class, MediaType.APPLICATION_JSON, output);
+        return output;
+    }
+}
@@ -0,0 +1,72 @@
+package com.interview.customer.imports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedBatchReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldCutBatchesOfWholeLinesAcrossWindows() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 25; i++) {
+            content.append("line-").append(i).append('\n');
+        }
+        content.append("line-26");
+        Path file = write(content.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<ImportBatch> batches = new ArrayList<>();
+        new MappedBatchReader(4, 16).read(file, batches::add);
+
+        List<String> lines = new ArrayList<>();
+        for (ImportBatch batch : batches) {
+            List<String> batchLines = List.of(new String(batch.data(), StandardCharsets.UTF_8).split("\n"));
+            assertEquals("line-" + batch.firstLine(), batchLines.getFirst());
+            assertTrue(batchLines.size() <= 4);
+            lines.addAll(batchLines);
+        }
+        assertEquals(26, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals("line-" + (i + 1), lines.get(i));
+        }
+    }
+
+    @Test
+    void shouldGrowTheWindowForLongLinesAndSkipTheBom() throws Exception {
+        String longLine = "x".repeat(100);
+        byte[] content = ("﻿first\n" + longLine + "\nlast\n").getBytes(StandardCharsets.UTF_8);
+        Path file = write(content);
+
+        List<ImportBatch> batches = new ArrayList<>();
+        new MappedBatchReader(1, 8).read(file, batches::add);
+
+        assertEquals(3, batches.size());
+        assertEquals("first\n", new String(batches.get(0).data(), StandardCharsets.UTF_8));
+        assertEquals(longLine + "\n", new String(batches.get(1).data(), StandardCharsets.UTF_8));
+        assertEquals(3, batches.get(2).firstLine());
+    }
+
+    @Test
+    void shouldStopWhenTheHandlerDeclines() throws Exception {
+        Path file = write("a\nb\nc\nd\n".getBytes(StandardCharsets.UTF_8));
+
+        List<ImportBatch> batches = new ArrayList<>();
+        new MappedBatchReader(1, 1024).read(file, batch -> batches.add(batch) && batches.size() < 2);
+
+        assertEquals(2, batches.size());
+    }
+
+    private Path write(byte[] content) throws Exception {
+        return Files.write(directory.resolve("customers.txt"), content);
+    }
+}
@@ -0,0 +1,74 @@
+package com.interview.customer.limits;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private final AdaptiveConcurrencyLimit limit =
+            new AdaptiveConcurrencyLimit("reads", 10, 2, 20, Duration.ofMillis(100), 0.5);
+
+    @Test
+    void shouldRejectRequestsBeyondTheLimitUntilOneCompletes() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+        assertEquals(10, limit.getInFlight());
+
+        limit.release(0, FAST, false);
+        assertTrue(limit.tryAcquire());
+        assertEquals(1, limit.stats().getRejected());
+        assertEquals(11, limit.stats().getAccepted());
+    }
+
+    @Test
+    void shouldBackOffOncePerSlowdownAndNeverBelowTheMinimum() {
+        long now = 1_000_000_000L;
+        acquire(3);
+        limit.release(now, now + SLOW, false);
+        assertEquals(5, limit.getLimit());
+
+        // queued behind the same slowdown, these started before the cut
+        limit.release(now + 1, now + SLOW + 1, false);
+        limit.release(now + 2, now + SLOW + 2, true);
+        assertEquals(5, limit.getLimit());
+
+        for (int i = 1; i <= 5; i++) {
+            acquire(1);
+            long start = now + i * 2 * SLOW;
+            limit.release(start, start + SLOW, false);
+        }
+        assertEquals(2, limit.getLimit());
+        assertEquals(6, limit.stats().getBackoffs());
+    }
+
+    @Test
+    void shouldGrowOnlyWhileTheLimitIsInUse() {
+        acquire(1);
+        for (int i = 0; i < 100; i++) {
+            limit.release(0, FAST, false);
+            acquire(1);
+        }
+        assertEquals(10, limit.getLimit(), "a single request at a time must not grow the limit");
+
+        acquire(9);
+        for (int i = 0; i < 1_000; i++) {
+            limit.release(0, FAST, false);
+            acquire(1);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    private void acquire(int permits) {
+        for (int i = 0; i < permits; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+    }
+}
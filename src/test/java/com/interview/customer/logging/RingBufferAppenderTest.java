@@ -0,0 +1,120 @@
+package com.interview.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RingBufferAppenderTest {
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @Test
+    void shouldDeliverEventsInOrderOnTheWorkerThread() {
+        ListAppender<ILoggingEvent> target = listAppender();
+        RingBufferAppender appender = ringBuffer(target, 2_048);
+
+        for (int i = 0; i < 1_000; i++) {
+            appender.doAppend(event(Level.INFO, "line " + i));
+        }
+        appender.stop();
+
+        assertEquals(1_000, target.list.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals("line " + i, target.list.get(i).getFormattedMessage());
+            assertEquals(Thread.currentThread().getName(), target.list.get(i).getThreadName());
+        }
+        assertEquals(0, appender.getDropped());
+    }
+
+    @Test
+    void shouldDropInfoBeforeWarningsWhenTheBufferFillsUp() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ListAppender<ILoggingEvent> target = listAppender();
+        AppenderBase<ILoggingEvent> blocking = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                target.doAppend(event);
+            }
+        };
+        blocking.setContext(context);
+        blocking.start();
+        RingBufferAppender appender = ringBuffer(blocking, 8);
+
+        appender.doAppend(event(Level.INFO, "taken by the worker"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 8; i++) {
+            appender.doAppend(event(Level.INFO, "info " + i));
+        }
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.WARN, "warn " + i));
+        }
+        release.countDown();
+        appender.stop();
+
+        // 80% of 8 slots take INFO, the remaining slots only WARN and above
+        List<String> written = target.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        assertEquals(List.of("taken by the worker", "info 0", "info 1", "info 2", "info 3", "info 4", "info 5",
+                "warn 0", "warn 1"), written);
+        assertEquals(4, appender.getDropped());
+    }
+
+    @Test
+    void shouldWriteOnTheCallersThreadWhenNotAsync() {
+        ListAppender<ILoggingEvent> target = listAppender();
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setAsync(false);
+        appender.addAppender(target);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "direct"));
+
+        assertEquals(1, target.list.size());
+        appender.stop();
+    }
+
+    private RingBufferAppender ringBuffer(AppenderBase<ILoggingEvent> target, int capacity) {
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setCapacity(capacity);
+        appender.addAppender(target);
+        appender.start();
+        return appender;
+    }
+
+    private ListAppender<ILoggingEvent> listAppender() {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        return appender;
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(RingBufferAppenderTest.class.getName(), context.getLogger("test"), level, message, null, null);
+    }
+}
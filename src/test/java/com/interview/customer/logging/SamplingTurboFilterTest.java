@@ -0,0 +1,57 @@
+package com.interview.customer.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setRates("com.example=10, com.example.quiet.Service=1, com.broken=x");
+        filter.start();
+    }
+
+    @Test
+    void shouldLetOneInNInfoLinesThroughForConfiguredLoggers() {
+        Logger hot = context.getLogger("com.example.hot.Service");
+        int passed = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.decide(null, hot, Level.INFO, "line {}", null, null) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        assertTrue(passed > 700 && passed < 1_300, passed + " of 10000 passed");
+        assertEquals(10_000 - passed, filter.getSampledOut());
+    }
+
+    @Test
+    void shouldNeverSampleWarningsUnconfiguredLoggersOrEnabledChecks() {
+        Logger hot = context.getLogger("com.example.hot.Service");
+        Logger quiet = context.getLogger("com.example.quiet.Service");
+        Logger other = context.getLogger("com.other.Service");
+        Logger broken = context.getLogger("com.broken.Service");
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, hot, Level.WARN, "line", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, hot, Level.INFO, null, null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, quiet, Level.INFO, "line", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, other, Level.INFO, "line", null, null));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, broken, Level.INFO, "line", null, null));
+            // below the logger's level the line is dropped anyway and is not counted as sampled
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, hot, Level.DEBUG, "line", null, null));
+        }
+        assertEquals(0, filter.getSampledOut());
+    }
+}
@@ -0,0 +1,41 @@
+package com.interview.customer.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros * 1_000, false);
+        }
+        long[] snapshot = histogram.snapshot();
+
+        assertEquals(1_000, histogram.getCount());
+        assertEquals(500_000, LatencyHistogram.percentile(snapshot, 0.50), 500_000 * 0.07);
+        assertEquals(990_000, LatencyHistogram.percentile(snapshot, 0.99), 990_000 * 0.07);
+        assertEquals(1_000_000, histogram.getMaxNanos());
+    }
+
+    @Test
+    void shouldCountErrors() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100, false);
+        histogram.record(200, true);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(1, histogram.getErrors());
+    }
+
+    @Test
+    void shouldMapEveryValueIntoABucketThatContainsIt() {
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value);
+        }
+    }
+}
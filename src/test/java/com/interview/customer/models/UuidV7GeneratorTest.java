@@ -0,0 +1,50 @@
+package com.interview.customer.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    void shouldGenerateVersion7Uuids() {
+        UUID id = UuidV7Generator.next();
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(Math.abs(System.currentTimeMillis() - timestamp) < 5_000);
+    }
+
+    @Test
+    void shouldGenerateIncreasingIdsAcrossThreads() throws Exception {
+        ConcurrentLinkedQueue<List<UUID>> perThread = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                List<UUID> ids = new ArrayList<>(10_000);
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+                perThread.add(ids);
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<UUID> all = new ArrayList<>();
+        for (List<UUID> ids : perThread) {
+            for (int i = 1; i < ids.size(); i++) {
+                assertTrue(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(),
+                        ids.get(i).getMostSignificantBits()) < 0);
+            }
+            all.addAll(ids);
+        }
+        assertEquals(all.size(), all.stream().map(UUID::getMostSignificantBits).distinct().count());
+    }
+}
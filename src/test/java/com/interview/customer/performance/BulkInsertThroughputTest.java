@@ -0,0 +1,64 @@
+package com.interview.customer.performance;
+
+import com.interview.customer.dto.BulkCreateResponseDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.services.CustomerBulkService;
+import com.interview.customer.services.CustomerService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the single-insert path against the bulk endpoint's chunked batch inserts.
+ * Run with {@code -Dperformance=true}.
+ */
+@SpringBootTest
+@Slf4j
+@EnabledIfSystemProperty(named = "performance", matches = "true")
+public class BulkInsertThroughputTest {
+
+    private static final int CUSTOMERS = 20_000;
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerBulkService customerBulkService;
+
+    @Test
+    void compareSingleAndBulkInsertThroughput() {
+        List<CustomerRequestDTO> requests = requests();
+
+        long start = System.nanoTime();
+        for (CustomerRequestDTO request : requests) {
+            customerService.saveCustomer(request);
+        }
+        long singleNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        BulkCreateResponseDTO response = customerBulkService.saveCustomers(requests);
+        long bulkNanos = System.nanoTime() - start;
+
+        assertEquals(CUSTOMERS, response.getCreated());
+        log.info("single inserts: {} customers/s, bulk inserts: {} customers/s",
+                CUSTOMERS * 1_000_000_000L / singleNanos, CUSTOMERS * 1_000_000_000L / bulkNanos);
+    }
+
+    private List<CustomerRequestDTO> requests() {
+        List<CustomerRequestDTO> requests = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            CustomerRequestDTO request = new CustomerRequestDTO();
+            request.setFirstName("First" + (char) ('a' + i % 26));
+            request.setLastName("Last" + (char) ('a' + i / 26 % 26));
+            request.setDob("1990-01-01");
+            requests.add(request);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,99 @@
+package com.interview.customer.performance;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.metrics.LatencyHistogram;
+import com.interview.customer.models.Customer;
+import com.interview.customer.store.CustomerStore;
+import com.interview.customer.writes.GroupCommitWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@value #CLIENTS} concurrent clients creating and then updating customers with one commit per write, the
+ * store's own path, against the group-commit writer. Run with {@code -Dperformance=true}.
+ */
+@SpringBootTest(properties = {
+        "customers.group-commit.enabled=true",
+        "logging.level.com.interview=WARN",
+        "logging.level.com.interview.customer.performance=INFO"})
+@Slf4j
+@EnabledIfSystemProperty(named = "performance", matches = "true")
+public class GroupCommitThroughputTest {
+
+    private static final int CLIENTS = 64;
+    private static final long RUN_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final LocalDate DOB = LocalDate.of(1990, 1, 1);
+
+    @Autowired
+    private CustomerStore customerStore;
+    @Autowired
+    private GroupCommitWriter groupCommitWriter;
+
+    @Test
+    void compareCommitPerWriteAndGroupCommit() throws Exception {
+        // first run of each path warms it up
+        run(customerStore::save, customerStore::update);
+        run(groupCommitWriter::save, groupCommitWriter::update);
+
+        Result perWrite = run(customerStore::save, customerStore::update);
+        Result grouped = run(groupCommitWriter::save, groupCommitWriter::update);
+
+        log.info("commit per write: {} writes/s, p50 {} us, p99 {} us", perWrite.throughput(), perWrite.p50Micros(),
+                perWrite.p99Micros());
+        log.info("group commit: {} writes/s, p50 {} us, p99 {} us", grouped.throughput(), grouped.p50Micros(),
+                grouped.p99Micros());
+        assertTrue(grouped.throughput() > 0 && perWrite.throughput() > 0);
+    }
+
+    private Result run(Function<Customer, Customer> save, Updater update) throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long deadline = System.nanoTime() + RUN_NANOS;
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            Future<?>[] futures = new Future<?>[CLIENTS];
+            for (int i = 0; i < CLIENTS; i++) {
+                futures[i] = clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        Customer customer = new Customer();
+                        customer.setFirstName("Maneesh");
+                        customer.setLastName("Pandey");
+                        customer.setDob(DOB);
+                        long start = System.nanoTime();
+                        UUID id = save.apply(customer).getCustomerId();
+                        long saved = System.nanoTime();
+                        histogram.record(saved - start, false);
+                        update.update(id, "Neeraj", "Pandey", DOB);
+                        histogram.record(System.nanoTime() - saved, false);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long[] snapshot = histogram.snapshot();
+        return new Result(histogram.getCount() * 1_000_000_000L / RUN_NANOS,
+                LatencyHistogram.percentile(snapshot, 0.50) / 1_000, LatencyHistogram.percentile(snapshot, 0.99) / 1_000);
+    }
+
+    private interface Updater {
+        Optional<CustomerDTO> update(UUID customerId, String firstName, String lastName, LocalDate dob);
+    }
+
+    private record Result(long throughput, long p50Micros, long p99Micros) {
+    }
+}
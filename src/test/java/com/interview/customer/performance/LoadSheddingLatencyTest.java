@@ -0,0 +1,133 @@
+package com.interview.customer.performance;
+
+import com.interview.customer.controllers.CustomersController;
+import com.interview.customer.dto.ConcurrencyLimitStatsDTO;
+import com.interview.customer.exceptions.ConcurrencyLimitExceededException;
+import com.interview.customer.limits.ConcurrencyLimits;
+import com.interview.customer.metrics.LatencyHistogram;
+import com.interview.customer.models.Customer;
+import com.interview.customer.services.CustomerService;
+import com.interview.customer.store.CustomerStore;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Overloads a store that serves {@value #DATABASE_CAPACITY} reads at a time, {@value #QUERY_MILLIS} ms each, with
+ * {@value #CLIENTS} concurrent clients. Compares the latency of calling the service directly, where every request
+ * queues for the store, against going through the controller's adaptive read limit, where the excess is shed.
+ * Run with {@code -Dperformance=true}.
+ */
+@SpringBootTest(properties = {
+        "customers.cache.enabled=false",
+        "customers.id-filter.enabled=false",
+        "customers.concurrency-limit.reads.latency-threshold=" + LoadSheddingLatencyTest.LATENCY_THRESHOLD_MILLIS + "ms",
+        "logging.level.com.interview=WARN",
+        "logging.level.com.interview.customer.performance=INFO"})
+@Slf4j
+@EnabledIfSystemProperty(named = "performance", matches = "true")
+public class LoadSheddingLatencyTest {
+
+    static final int LATENCY_THRESHOLD_MILLIS = 50;
+    private static final int DATABASE_CAPACITY = 4;
+    private static final int QUERY_MILLIS = 10;
+    private static final int CLIENTS = 64;
+    private static final long RUN_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+    @MockitoBean
+    private CustomerStore customerStore;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomersController customersController;
+    @Autowired
+    private ConcurrencyLimits concurrencyLimits;
+
+    @Test
+    void shedExcessReadsToKeepTailLatencyBounded() throws Exception {
+        Semaphore connections = new Semaphore(DATABASE_CAPACITY, true);
+        Customer customer = new Customer();
+        customer.setCustomerId(UUID.randomUUID());
+        customer.setFirstName("Neeraj");
+        customer.setLastName("Pandey");
+        customer.setDob(LocalDate.of(1990, 1, 1));
+        customer.setVersion(0L);
+        when(customerStore.findById(any(UUID.class))).thenAnswer(invocation -> {
+            connections.acquire();
+            try {
+                Thread.sleep(QUERY_MILLIS);
+            } finally {
+                connections.release();
+            }
+            return Optional.of(customer);
+        });
+        UUID id = customer.getCustomerId();
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        Result queued = run(() -> customerService.getCustomer(id));
+        Result shed = run(() -> customersController.getCustomer(id, null, request));
+
+        ConcurrencyLimitStatsDTO reads = concurrencyLimits.reads().stats();
+        log.info("unlimited: {} ok/s, p50 {} ms, p99 {} ms", queued.throughput(), queued.p50Millis(), queued.p99Millis());
+        log.info("limited to {}: {} ok/s, p50 {} ms, p99 {} ms, {} shed", reads.getLimit(), shed.throughput(),
+                shed.p50Millis(), shed.p99Millis(), shed.shed());
+
+        assertTrue(queued.p99Millis() > 2 * LATENCY_THRESHOLD_MILLIS, "the unlimited run must actually overload the store");
+        assertTrue(shed.shed() > 0);
+        assertTrue(shed.p99Millis() < 2 * LATENCY_THRESHOLD_MILLIS,
+                "p99 of admitted reads was " + shed.p99Millis() + " ms");
+    }
+
+    private Result run(Runnable call) throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder shed = new LongAdder();
+        long deadline = System.nanoTime() + RUN_NANOS;
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            Future<?>[] futures = new Future<?>[CLIENTS];
+            for (int i = 0; i < CLIENTS; i++) {
+                futures[i] = clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            call.run();
+                            histogram.record(System.nanoTime() - start, false);
+                        } catch (ConcurrencyLimitExceededException ex) {
+                            shed.increment();
+                            // a shed client backs off briefly, as it would on a 503 with Retry-After
+                            Thread.sleep(QUERY_MILLIS);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long[] snapshot = histogram.snapshot();
+        return new Result(histogram.getCount() * 1_000_000_000L / RUN_NANOS, shed.sum(),
+                LatencyHistogram.percentile(snapshot, 0.50) / 1_000_000, LatencyHistogram.percentile(snapshot, 0.99) / 1_000_000);
+    }
+
+    private record Result(long throughput, long shed, long p50Millis, long p99Millis) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.interview.customer.performance;
+
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.models.Customer;
+import com.interview.customer.repositories.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Compares the former findById + save update against the single UPDATE statement, with several concurrent writers.
+ * Run with {@code -Dperformance=true}.
+ */
+@SpringBootTest
+@Slf4j
+@EnabledIfSystemProperty(named = "performance", matches = "true")
+public class UpdateLatencyTest {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final int WRITERS = 8;
+    private static final int UPDATES_PER_WRITER = 2_000;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void compareUpdateLatencyUnderConcurrentWriters() throws Exception {
+        List<UUID> ids = seed();
+        CustomerRequestDTO request = new CustomerRequestDTO();
+        request.setFirstName("Neeraj");
+        request.setLastName("Pandey");
+        request.setDob("1991-02-02");
+
+        // the version column makes concurrent load-then-save updates conflict, so they retry like a real caller would
+        Consumer<UUID> loadThenSaveUpdate = id -> {
+            while (true) {
+                Customer customer = customerRepository.findById(id).orElseThrow();
+                customer.setFirstName(request.getFirstName());
+                customer.setLastName(request.getLastName());
+                customer.setDob(LocalDate.parse(request.getDob()));
+                try {
+                    customerRepository.save(customer);
+                    return;
+                } catch (ObjectOptimisticLockingFailureException ex) {
+                    // another writer updated this customer since it was loaded
+                }
+            }
+        };
+        Consumer<UUID> singleStatementUpdate = id -> customerRepository.updateReturningReplaced(id,
+                request.getFirstName(), request.getLastName(), LocalDate.parse(request.getDob()));
+
+        // warm up both paths before measuring
+        measure(ids, loadThenSaveUpdate);
+        measure(ids, singleStatementUpdate);
+        long[] loadThenSave = measure(ids, loadThenSaveUpdate);
+        long[] singleStatement = measure(ids, singleStatementUpdate);
+
+        log.info("findById + save: p50 {} us, p99 {} us", percentile(loadThenSave, 0.50), percentile(loadThenSave, 0.99));
+        log.info("single UPDATE: p50 {} us, p99 {} us", percentile(singleStatement, 0.50), percentile(singleStatement, 0.99));
+    }
+
+    private List<UUID> seed() {
+        List<Customer> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setFirstName("Maneesh");
+            customer.setLastName("Pandey");
+            customer.setDob(LocalDate.of(1990, 1, 1));
+            customers.add(customer);
+        }
+        return customerRepository.saveAll(customers).stream().map(Customer::getCustomerId).toList();
+    }
+
+    private long[] measure(List<UUID> ids, Consumer<UUID> update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<long[]>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    long[] latencies = new long[UPDATES_PER_WRITER];
+                    for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                        UUID id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        long start = System.nanoTime();
+                        update.accept(id);
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                }));
+            }
+            long[] all = new long[WRITERS * UPDATES_PER_WRITER];
+            for (int w = 0; w < WRITERS; w++) {
+                System.arraycopy(writers.get(w).get(), 0, all, w * UPDATES_PER_WRITER, UPDATES_PER_WRITER);
+            }
+            Arrays.sort(all);
+            return all;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long percentile(long[] sortedNanos, double percentile) {
+        return sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1)] / 1_000;
+    }
+}
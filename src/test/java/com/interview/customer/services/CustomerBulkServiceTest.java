@@ -0,0 +1,112 @@
+package com.interview.customer.services;
+
+import com.interview.customer.cache.CustomerIdFilter;
+import com.interview.customer.changefeed.ChangeFeed;
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.BulkCreateResponseDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.exceptions.BulkTooLargeException;
+import com.interview.customer.models.Customer;
+import com.interview.customer.repositories.CustomerRepository;
+import com.interview.customer.statistics.CustomerStatistics;
+import com.interview.customer.store.JpaCustomerStore;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CustomerBulkServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private CustomerBulkService customerBulkService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        CustomerProperties properties = new CustomerProperties();
+        properties.getBulk().setChunkSize(2);
+        JpaCustomerStore customerStore = new JpaCustomerStore(customerRepository);
+        customerBulkService = new CustomerBulkService(customerStore,
+                Validation.buildDefaultValidatorFactory().getValidator(), properties, new ChangeFeed(properties),
+                new CustomerIdFilter(properties, customerStore), new CustomerStatistics(customerStore, properties));
+        lenient().when(customerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Customer> customers = new ArrayList<>(invocation.getArgument(0));
+            customers.forEach(customer -> customer.setCustomerId(UUID.randomUUID()));
+            return customers;
+        });
+    }
+
+    @Test
+    void shouldSaveValidCustomersInChunks() {
+        BulkCreateResponseDTO response = customerBulkService.saveCustomers(List.of(
+                request("Maneesh", "Pandey", "1990-01-01"),
+                request("Neeraj", "Pandey", "1991-02-02"),
+                request("Ravi", "Kumar", "1992-03-03")));
+
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getRejected());
+        assertEquals("Ravi", response.getCustomers().get(2).getFirstName());
+        verify(customerRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldReportInvalidCustomersPerItem() {
+        BulkCreateResponseDTO response = customerBulkService.saveCustomers(List.of(
+                request("Maneesh", "Pandey", "1990-01-01"),
+                request("Maneesh1", "Pandey", "1990-13-01")));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getRejected());
+        assertEquals(1, response.getErrors().getFirst().getIndex());
+        assertEquals(2, response.getErrors().getFirst().getErrors().size());
+        assertTrue(response.getErrors().getFirst().getErrors().stream()
+                .anyMatch(error -> error.getReason().equals("First name should contain only alphabets")));
+    }
+
+    @Test
+    void shouldRejectADayTheMonthDoesNotHave() {
+        BulkCreateResponseDTO response = customerBulkService.saveCustomers(List.of(
+                request("Maneesh", "Pandey", "1990-01-01"),
+                request("Neeraj", "Pandey", "1990-02-30"),
+                request("Ravi", "Kumar", "1992-03-03")));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getRejected());
+        assertEquals(1, response.getErrors().getFirst().getIndex());
+        assertEquals("dob", response.getErrors().getFirst().getErrors().getFirst().getField());
+        assertEquals("Date of birth should be in yyyy-MM-dd format",
+                response.getErrors().getFirst().getErrors().getFirst().getReason());
+    }
+
+    @Test
+    void shouldRejectMoreItemsThanTheLimit() {
+        List<CustomerRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 10_001; i++) {
+            requests.add(request("Maneesh", "Pandey", "1990-01-01"));
+        }
+
+        assertThrows(BulkTooLargeException.class, () -> customerBulkService.saveCustomers(requests));
+        verify(customerRepository, never()).saveAll(anyList());
+    }
+
+    private CustomerRequestDTO request(String firstName, String lastName, String dob) {
+        CustomerRequestDTO customerRequestDTO = new CustomerRequestDTO();
+        customerRequestDTO.setFirstName(firstName);
+        customerRequestDTO.setLastName(lastName);
+        customerRequestDTO.setDob(dob);
+        return customerRequestDTO;
+    }
+}
@@ -0,0 +1,152 @@
+package com.interview.customer.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.customer.cache.CustomerIdFilter;
+import com.interview.customer.changefeed.ChangeFeed;
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.ImportJobDTO;
+import com.interview.customer.dto.ImportRejectionDTO;
+import com.interview.customer.dto.ImportRequestDTO;
+import com.interview.customer.dto.ImportStatus;
+import com.interview.customer.exceptions.InvalidImportException;
+import com.interview.customer.statistics.CustomerStatistics;
+import com.interview.customer.store.InMemoryCustomerStore;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerImportServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryCustomerStore customerStore;
+    private CustomerImportService customerImportService;
+
+    @BeforeEach
+    void setUp() {
+        CustomerProperties properties = new CustomerProperties();
+        properties.getImports().setDirectory(directory.toString());
+        properties.getImports().setBatchSize(3);
+        properties.getImports().setParallelism(2);
+        customerStore = new InMemoryCustomerStore(properties);
+        customerImportService = new CustomerImportService(customerStore,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), properties,
+                new ChangeFeed(properties), new CustomerIdFilter(properties, customerStore),
+                new CustomerStatistics(customerStore, properties));
+    }
+
+    @Test
+    void shouldImportValidCsvRowsAndReportRejectedLines() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), """
+                firstName,lastName,dob
+                Maneesh,Pandey,1990-01-01
+                "Neeraj","Kumar",1991-02-02\r
+                Ravi,Kumar1,1992-03-03
+
+                Amit,Shah
+                Sita,Ram,1993-13-01
+                Gita,Devi,1994-04-04
+                """);
+
+        ImportJobDTO job = awaitImport(request("customers.csv", null));
+
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(6, job.getRowsRead());
+        assertEquals(3, job.getRowsImported());
+        assertEquals(3, job.getRowsRejected());
+        assertEquals(job.getBytesTotal(), job.getBytesRead());
+
+        List<ImportRejectionDTO> rejections = customerImportService.getRejections(job.getJobId());
+        assertEquals(List.of(4L, 6L, 7L), rejections.stream().map(ImportRejectionDTO::getLine).toList());
+        assertEquals("Last name should contain only alphabets", rejections.get(0).getErrors().getFirst().getReason());
+        assertEquals("Expected 3 fields: firstName,lastName,dob", rejections.get(1).getErrors().getFirst().getReason());
+        assertEquals("dob", rejections.get(2).getErrors().getFirst().getField());
+
+        List<String> names = new ArrayList<>();
+        customerStore.forEach(customer -> names.add(customer.getFirstName()));
+        assertEquals(Set.of("Maneesh", "Neeraj", "Gita"), Set.copyOf(names));
+    }
+
+    @Test
+    void shouldRejectADayTheMonthDoesNotHave() throws Exception {
+        Files.writeString(directory.resolve("customers.csv"), """
+                Maneesh,Pandey,1990-01-01
+                Neeraj,Kumar,1991-02-02
+                Ravi,Kumar,1990-02-30
+                Amit,Shah,1992-03-03
+                Gita,Devi,1994-04-04
+                """);
+
+        ImportJobDTO job = awaitImport(request("customers.csv", null));
+
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getRowsImported());
+        List<ImportRejectionDTO> rejections = customerImportService.getRejections(job.getJobId());
+        assertEquals(List.of(3L), rejections.stream().map(ImportRejectionDTO::getLine).toList());
+        assertEquals("dob", rejections.getFirst().getErrors().getFirst().getField());
+        assertEquals("Date of birth should be in yyyy-MM-dd format", rejections.getFirst().getErrors().getFirst().getReason());
+    }
+
+    @Test
+    void shouldImportNdjson() throws Exception {
+        Files.writeString(directory.resolve("customers.ndjson"), """
+                {"firstName":"Maneesh","lastName":"Pandey","dob":"1990-01-01"}
+                {"firstName":"Neeraj","lastName":
+                {"firstName":"Ravi","lastName":"Kumar","dob":"1992-03-03"}
+                """);
+
+        ImportJobDTO job = awaitImport(request("customers.ndjson", null));
+
+        assertEquals(2, job.getRowsImported());
+        List<ImportRejectionDTO> rejections = customerImportService.getRejections(job.getJobId());
+        assertEquals(2, rejections.getFirst().getLine());
+        assertTrue(rejections.getFirst().getErrors().getFirst().getReason().startsWith("Malformed JSON"));
+        List<String> names = new ArrayList<>();
+        customerStore.forEach(customer -> names.add(customer.getFirstName()));
+        assertEquals(Set.of("Maneesh", "Ravi"), Set.copyOf(names));
+    }
+
+    @Test
+    void shouldRejectFilesOutsideTheImportDirectory() throws Exception {
+        Path outside = Files.createTempFile("customers", ".csv");
+        try {
+            assertThrows(InvalidImportException.class,
+                    () -> customerImportService.startImport(request(outside.toString(), null)));
+            assertThrows(InvalidImportException.class,
+                    () -> customerImportService.startImport(request("../" + outside.getFileName(), null)));
+        } finally {
+            Files.delete(outside);
+        }
+    }
+
+    private ImportJobDTO awaitImport(ImportRequestDTO request) throws InterruptedException {
+        UUID jobId = customerImportService.startImport(request).getJobId();
+        for (int i = 0; i < 500; i++) {
+            ImportJobDTO job = customerImportService.getImport(jobId);
+            if (job.getStatus() != ImportStatus.RUNNING) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Import did not finish");
+        return null;
+    }
+
+    private static ImportRequestDTO request(String path, String format) {
+        ImportRequestDTO request = new ImportRequestDTO();
+        request.setPath(path);
+        request.setFormat(format);
+        return request;
+    }
+}
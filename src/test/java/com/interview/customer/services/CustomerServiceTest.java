@@ -1,10 +1,23 @@
 package com.interview.customer.services;
 
+import com.interview.customer.cache.CustomerCache;
+import com.interview.customer.cache.CustomerIdFilter;
+import com.interview.customer.changefeed.ChangeFeed;
+import com.interview.customer.config.CustomerProperties;
 import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.dto.CustomerLookupDTO;
+import com.interview.customer.dto.CustomerPageDTO;
 import com.interview.customer.dto.CustomerRequestDTO;
 import com.interview.customer.exceptions.CustomerNotFoundException;
+import com.interview.customer.exceptions.CustomerVersionMismatchException;
+import com.interview.customer.exceptions.InvalidCursorException;
+import com.interview.customer.exceptions.LookupTooLargeException;
 import com.interview.customer.models.Customer;
 import com.interview.customer.repositories.CustomerRepository;
+import com.interview.customer.statistics.CustomerStatistics;
+import com.interview.customer.store.JpaCustomerStore;
+import com.interview.customer.writes.GroupCommitWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,11 +25,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,7 +53,11 @@ public class CustomerServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        customerService = new CustomerService(customerRepository);
+        CustomerProperties properties = new CustomerProperties();
+        JpaCustomerStore customerStore = new JpaCustomerStore(customerRepository);
+        customerService = new CustomerService(customerStore, properties, new CustomerCache(properties),
+                new ChangeFeed(properties), new CustomerIdFilter(properties, customerStore),
+                new CustomerStatistics(customerStore, properties), new GroupCommitWriter(customerStore, properties));
 
         customer = new Customer();
         customer.setCustomerId(UUID.randomUUID());
@@ -58,10 +78,93 @@ public class CustomerServiceTest {
 
     @Test
     void shouldReturnAllCustomers() {
-        when(customerRepository.findAll()).thenReturn(List.of(customer));
-        List<CustomerDTO> customers = customerService.getCustomers();
-        assertEquals(1, customers.size());
-        assertEquals("Maneesh", customers.getFirst().getFirstName());
+        when(customerRepository.findAllByOrderByCustomerIdAsc(any(Limit.class))).thenReturn(List.of(customer));
+        CustomerPageDTO page = customerService.getCustomers(null, null);
+        assertEquals(1, page.getCustomers().size());
+        assertEquals("Maneesh", page.getCustomers().getFirst().getFirstName());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldReturnCursorThatResumesAfterLastCustomerOfPage() {
+        Customer next = new Customer();
+        next.setCustomerId(UUID.randomUUID());
+        next.setFirstName("Neeraj");
+        next.setLastName("Pandey");
+        next.setDob(LocalDate.of(1990, 1, 1));
+        when(customerRepository.findAllByOrderByCustomerIdAsc(Limit.of(2))).thenReturn(List.of(customer, next));
+
+        CustomerPageDTO page = customerService.getCustomers(null, 1);
+        assertEquals(1, page.getCustomers().size());
+        assertNotNull(page.getNextCursor());
+
+        when(customerRepository.findByCustomerIdGreaterThanOrderByCustomerIdAsc(customer.getCustomerId(), Limit.of(2)))
+                .thenReturn(List.of(next));
+        CustomerPageDTO nextPage = customerService.getCustomers(page.getNextCursor(), 1);
+        assertEquals("Neeraj", nextPage.getCustomers().getFirst().getFirstName());
+        assertNull(nextPage.getNextCursor());
+    }
+
+    @Test
+    void shouldPageProjectedCustomersWithoutReturningUnrequestedIds() {
+        CustomerDTO first = new CustomerDTO();
+        first.setCustomerId(customer.getCustomerId().toString());
+        first.setLastName("Pandey");
+        CustomerDTO second = new CustomerDTO();
+        second.setCustomerId(UUID.randomUUID().toString());
+        second.setLastName("Kumar");
+        when(customerRepository.findProjectedPage(null, EnumSet.of(CustomerField.CUSTOMER_ID, CustomerField.LAST_NAME), 2))
+                .thenReturn(List.of(first, second));
+
+        CustomerPageDTO page = customerService.getCustomers(null, 1, EnumSet.of(CustomerField.LAST_NAME));
+
+        assertEquals(1, page.getCustomers().size());
+        assertNull(page.getCustomers().getFirst().getCustomerId());
+        assertEquals("Pandey", page.getCustomers().getFirst().getLastName());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldThrowCustomerNotFoundExceptionForMissingProjectedCustomer() {
+        when(customerRepository.findProjectedById(any(UUID.class), anySet())).thenReturn(Optional.empty());
+        assertThrows(CustomerNotFoundException.class, () -> customerService
+                .getCustomer(UUID.randomUUID(), EnumSet.of(CustomerField.FIRST_NAME)));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> customerService.getCustomers("not-a-cursor", null));
+    }
+
+    @Test
+    void shouldLookUpCustomersInChunksAndReportMissingIds() {
+        JpaCustomerStore customerStore = new JpaCustomerStore(customerRepository);
+        customerService = new CustomerService(customerStore, lookupProperties(2, 10), new CustomerCache(properties()),
+                new ChangeFeed(properties()), new CustomerIdFilter(properties(), customerStore),
+                new CustomerStatistics(customerStore, properties()), new GroupCommitWriter(customerStore, properties()));
+        UUID missing = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        when(customerRepository.findAllByCustomerIdIn(List.of(missing, customer.getCustomerId())))
+                .thenReturn(List.of(customer.toDTO()));
+        when(customerRepository.findAllByCustomerIdIn(List.of(other))).thenReturn(List.of());
+
+        CustomerLookupDTO lookup = customerService.getCustomers(List.of(missing, customer.getCustomerId(), missing, other));
+
+        assertEquals(1, lookup.getCustomers().size());
+        assertEquals("Maneesh", lookup.getCustomers().getFirst().getFirstName());
+        assertEquals(List.of(missing.toString(), other.toString()), lookup.getMissingIds());
+        verify(customerRepository, times(2)).findAllByCustomerIdIn(anyList());
+    }
+
+    @Test
+    void shouldRejectLookupOfTooManyIds() {
+        JpaCustomerStore customerStore = new JpaCustomerStore(customerRepository);
+        customerService = new CustomerService(customerStore, lookupProperties(2, 2), new CustomerCache(properties()),
+                new ChangeFeed(properties()), new CustomerIdFilter(properties(), customerStore),
+                new CustomerStatistics(customerStore, properties()), new GroupCommitWriter(customerStore, properties()));
+        assertThrows(LookupTooLargeException.class, () -> customerService
+                .getCustomers(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID())));
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
@@ -80,6 +183,74 @@ public class CustomerServiceTest {
         assertEquals("Maneesh", foundCustomer.getFirstName());
     }
 
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        when(customerRepository.findById(any(UUID.class))).thenReturn(Optional.of(customer));
+        customerService.getCustomer(customer.getCustomerId());
+        customerService.getCustomer(customer.getCustomerId());
+        verify(customerRepository, times(1)).findById(customer.getCustomerId());
+    }
+
+    @Test
+    void shouldNotServeStaleCustomerAfterUpdate() {
+        Customer updated = new Customer();
+        updated.setCustomerId(customer.getCustomerId());
+        updated.setFirstName("Neeraj");
+        updated.setLastName("Pandey");
+        updated.setDob(LocalDate.of(1990, 1, 1));
+        updated.setVersion(1L);
+        when(customerRepository.findById(any(UUID.class))).thenReturn(Optional.of(customer), Optional.of(updated));
+        when(customerRepository.updateReturningReplaced(any(UUID.class), anyString(), anyString(), any(LocalDate.class)))
+                .thenReturn(replaced(customer, 0L));
+        customerService.getCustomer(customer.getCustomerId());
+        customerService.updateCustomer(customer.getCustomerId(), updateCustomerDTO);
+        assertEquals("Neeraj", customerService.getCustomer(customer.getCustomerId()).getFirstName());
+    }
+
+    @Test
+    void shouldReloadCustomerAfterConditionalUpdate() {
+        Customer updated = new Customer();
+        updated.setCustomerId(customer.getCustomerId());
+        updated.setFirstName("Neeraj");
+        updated.setLastName("Pandey");
+        updated.setDob(LocalDate.of(1990, 1, 1));
+        updated.setVersion(4L);
+        when(customerRepository.findById(customer.getCustomerId())).thenReturn(Optional.of(customer), Optional.of(updated));
+        when(customerRepository.updateReturningReplaced(customer.getCustomerId(), "Neeraj", "Pandey", LocalDate.of(1990, 1, 1), 3L))
+                .thenReturn(replaced(customer, 3L));
+        customerService.getCustomer(customer.getCustomerId());
+        CustomerDTO result = customerService.updateCustomer(customer.getCustomerId(), updateCustomerDTO, 3L);
+        assertEquals(4L, result.getVersion());
+        // the entry is dropped rather than replaced, so a concurrent later update cannot be overwritten in the cache
+        assertEquals("Neeraj", customerService.getCustomer(customer.getCustomerId()).getFirstName());
+        verify(customerRepository, times(2)).findById(customer.getCustomerId());
+    }
+
+    @Test
+    void shouldRejectConditionalUpdateOfModifiedCustomer() {
+        when(customerRepository.updateReturningReplaced(any(UUID.class), anyString(), anyString(), any(LocalDate.class), anyLong()))
+                .thenReturn(Optional.empty());
+        when(customerRepository.existsById(customer.getCustomerId())).thenReturn(true);
+        assertThrows(CustomerVersionMismatchException.class, () -> customerService
+                .updateCustomer(customer.getCustomerId(), updateCustomerDTO, 3L));
+    }
+
+    @Test
+    void shouldThrowCustomerNotFoundExceptionForConditionalUpdateOfMissingCustomer() {
+        when(customerRepository.updateReturningReplaced(any(UUID.class), anyString(), anyString(), any(LocalDate.class), anyLong()))
+                .thenReturn(Optional.empty());
+        when(customerRepository.existsById(any(UUID.class))).thenReturn(false);
+        assertThrows(CustomerNotFoundException.class, () -> customerService
+                .updateCustomer(UUID.randomUUID(), updateCustomerDTO, 3L));
+    }
+
+    @Test
+    void shouldReadOnlyVersionColumnForUncachedCustomer() {
+        when(customerRepository.findVersionByCustomerId(customer.getCustomerId())).thenReturn(Optional.of(7L));
+        assertEquals(7L, customerService.getCustomerVersion(customer.getCustomerId()));
+        verify(customerRepository, never()).findById(any(UUID.class));
+    }
+
     @Test
     void shouldThrowCustomerNotFoundExceptionGivenInvalidId() {
         when(customerRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
@@ -88,32 +259,82 @@ public class CustomerServiceTest {
 
     @Test
     void shouldUpdateCustomerGivenValidId() {
-        when(customerRepository.findById(any(UUID.class))).thenReturn(Optional.of(customer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+        when(customerRepository.updateReturningReplaced(customer.getCustomerId(), "Neeraj", "Pandey", LocalDate.of(1990, 1, 1)))
+                .thenReturn(replaced(customer, 0L));
         CustomerDTO updatedCustomer = customerService.updateCustomer(customer.getCustomerId(), updateCustomerDTO);
         assertNotNull(updatedCustomer);
         assertEquals("Neeraj", updatedCustomer.getFirstName());
+        assertEquals(1L, updatedCustomer.getVersion());
+        assertEquals(customer.getCustomerId().toString(), updatedCustomer.getCustomerId());
+        verify(customerRepository, never()).findById(any(UUID.class));
     }
 
     @Test
     void shouldThrowCustomerNotFoundExceptionGivenInvalidCustomerId() {
-        when(customerRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(customerRepository.updateReturningReplaced(any(UUID.class), anyString(), anyString(), any(LocalDate.class)))
+                .thenReturn(Optional.empty());
         assertThrows(CustomerNotFoundException.class, () ->customerService
                 .updateCustomer(customer.getCustomerId(), updateCustomerDTO));
     }
 
     @Test
     void shouldDeleteCustomerGivenValidId() {
-        when(customerRepository.findById(any(UUID.class))).thenReturn(Optional.of(customer));
-        doNothing().when(customerRepository).delete(any(Customer.class));
+        when(customerRepository.deleteReturningReplaced(any(UUID.class))).thenReturn(replaced(customer, 2L));
         customerService.deleteCustomer(customer.getCustomerId());
-        verify(customerRepository, times(1)).delete(customer);
+        verify(customerRepository, times(1)).deleteReturningReplaced(customer.getCustomerId());
+        verify(customerRepository, never()).findById(any(UUID.class));
     }
 
     @Test
     void shouldThrowCustomerNotFoundExceptionGivenWrongCustomerId() {
-        when(customerRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(customerRepository.deleteReturningReplaced(any(UUID.class))).thenReturn(Optional.empty());
         assertThrows(CustomerNotFoundException.class, () ->customerService
                 .deleteCustomer(customer.getCustomerId()));
     }
+
+    @Test
+    void shouldAnswerDefiniteMissesFromTheIdFilter() {
+        CustomerProperties properties = properties();
+        JpaCustomerStore customerStore = new JpaCustomerStore(customerRepository);
+        CustomerIdFilter customerIdFilter = new CustomerIdFilter(properties, customerStore);
+        customerService = new CustomerService(customerStore, properties, new CustomerCache(properties),
+                new ChangeFeed(properties), customerIdFilter, new CustomerStatistics(customerStore, properties),
+                new GroupCommitWriter(customerStore, properties));
+        when(customerRepository.streamAllBy()).thenReturn(Stream.of(customer.toDTO()));
+        customerIdFilter.rebuild();
+        when(customerRepository.findById(customer.getCustomerId())).thenReturn(Optional.of(customer));
+
+        assertEquals("Maneesh", customerService.getCustomer(customer.getCustomerId()).getFirstName());
+        UUID missing = UUID.randomUUID();
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomer(missing));
+        assertThrows(CustomerNotFoundException.class, () -> customerService.updateCustomer(missing, updateCustomerDTO));
+        assertThrows(CustomerNotFoundException.class, () -> customerService.deleteCustomer(missing));
+        assertEquals(List.of(missing.toString()), customerService.getCustomers(List.of(missing)).getMissingIds());
+        verify(customerRepository, never()).findById(missing);
+        verify(customerRepository, never()).updateReturningReplaced(eq(missing), any(), any(), any());
+        verify(customerRepository, never()).deleteReturningReplaced(missing);
+        verify(customerRepository, never()).findAllByCustomerIdIn(any());
+    }
+
+    @Test
+    void shouldNotCaptureStackTracesForMissingCustomers() {
+        assertEquals(0, new CustomerNotFoundException("user not found").getStackTrace().length);
+    }
+
+    private static CustomerProperties properties() {
+        return new CustomerProperties();
+    }
+
+    private static CustomerProperties lookupProperties(int chunkSize, int maxIds) {
+        CustomerProperties properties = new CustomerProperties();
+        properties.getLookup().setChunkSize(chunkSize);
+        properties.getLookup().setMaxIds(maxIds);
+        return properties;
+    }
+
+    private static Optional<CustomerDTO> replaced(Customer stored, long version) {
+        CustomerDTO replaced = stored.toDTO();
+        replaced.setVersion(version);
+        return Optional.of(replaced);
+    }
 }
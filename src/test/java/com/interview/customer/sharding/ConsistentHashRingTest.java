@@ -0,0 +1,41 @@
+package com.interview.customer.sharding;
+
+import com.interview.customer.models.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    @Test
+    void shouldSpreadSequentialIdsEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+        int[] counts = new int[4];
+        for (int i = 0; i < 100_000; i++) {
+            counts[ring.shardOf(UuidV7Generator.next())]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 20_000 && count < 30_000, "shard holds " + count + " of 100000 ids");
+        }
+    }
+
+    @Test
+    void shouldOnlyMoveIdsToTheAddedShard() {
+        ConsistentHashRing three = new ConsistentHashRing(3, 128);
+        ConsistentHashRing four = new ConsistentHashRing(4, 128);
+        int moved = 0;
+        for (int i = 0; i < 100_000; i++) {
+            UUID id = UuidV7Generator.next();
+            int before = three.shardOf(id);
+            int after = four.shardOf(id);
+            assertEquals(before, three.shardOf(id));
+            if (before != after) {
+                assertEquals(3, after);
+                moved++;
+            }
+        }
+        assertTrue(moved > 15_000 && moved < 35_000, moved + " of 100000 ids moved");
+    }
+}
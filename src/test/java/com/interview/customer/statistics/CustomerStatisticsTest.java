@@ -0,0 +1,142 @@
+package com.interview.customer.statistics;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerStatisticsDTO;
+import com.interview.customer.dto.LastNameCountDTO;
+import com.interview.customer.models.Customer;
+import com.interview.customer.store.InMemoryCustomerStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerStatisticsTest {
+
+    private static final Clock TODAY = Clock.fixed(LocalDate.of(2026, 6, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private InMemoryCustomerStore store;
+    private CustomerStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        CustomerProperties properties = new CustomerProperties();
+        properties.getStatistics().setTopLastNames(2);
+        properties.getStatistics().setConsistencyCheck(true);
+        store = new InMemoryCustomerStore(properties);
+        statistics = new CustomerStatistics(store, properties, TODAY);
+    }
+
+    @Test
+    void shouldCountStoredCustomersOnRebuild() {
+        save("Pandey", LocalDate.of(2008, 6, 15));
+        save("Pandey", LocalDate.of(2008, 6, 16));
+        save("Sharma", LocalDate.of(1990, 1, 1));
+        save("Sharma", LocalDate.of(2001, 2, 28));
+        save("Verma", LocalDate.of(1960, 12, 31));
+        statistics.rebuild();
+
+        CustomerStatisticsDTO result = statistics.statistics();
+        assertEquals(5, result.getTotal());
+        assertEquals(Map.of(1960, 1L, 1990, 1L, 2001, 1L, 2008, 2L), result.getByBirthYear());
+        assertEquals(List.of(1960, 1990, 2001, 2008), List.copyOf(result.getByBirthYear().keySet()));
+        assertEquals(Map.of("0-17", 1L, "18-24", 1L, "25-34", 1L, "35-44", 1L, "45-54", 0L, "55-64", 0L, "65+", 1L),
+                result.getByAgeBucket(), "an 18th birthday today counts as 18, tomorrow's as 17");
+        assertEquals(List.of(new LastNameCountDTO("Pandey", 2), new LastNameCountDTO("Sharma", 2)), result.getTopLastNames());
+        assertTrue(result.getConsistent());
+    }
+
+    @Test
+    void shouldFollowCreatesUpdatesAndDeletes() {
+        Customer kept = save("Sharma", LocalDate.of(1990, 1, 1));
+        Customer deleted = save("Pandey", LocalDate.of(2008, 6, 16));
+        statistics.rebuild();
+
+        Customer created = save("Verma", LocalDate.of(1950, 3, 3));
+        statistics.add(created.toDTO());
+        CustomerDTO updated = new CustomerDTO(kept.getCustomerId(), "Neeraj", "Verma", LocalDate.of(2010, 1, 1));
+        statistics.update(store.update(kept.getCustomerId(), "Neeraj", "Verma", LocalDate.of(2010, 1, 1)).orElseThrow(),
+                updated);
+        statistics.delete(store.delete(deleted.getCustomerId()).orElseThrow());
+
+        CustomerStatisticsDTO result = statistics.statistics();
+        assertEquals(2, result.getTotal());
+        assertEquals(Map.of(1950, 1L, 2010, 1L), result.getByBirthYear());
+        assertEquals(List.of(new LastNameCountDTO("Verma", 2)), result.getTopLastNames());
+        assertTrue(result.getConsistent());
+    }
+
+    @Test
+    void shouldTakeBackEachValueOnceWhenUpdatesOfOneCustomerRace() throws Exception {
+        Customer customer = save("Sharma", LocalDate.of(1990, 1, 1));
+        statistics.rebuild();
+        UUID id = customer.getCustomerId();
+
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<Future<?>> done = new ArrayList<>();
+        for (int writer = 0; writer < 4; writer++) {
+            String lastName = "Verma" + writer;
+            done.add(writers.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    CustomerDTO updated = new CustomerDTO(id, "First", lastName, LocalDate.of(1990, 1, 1));
+                    statistics.update(store.update(id, "First", lastName, LocalDate.of(1990, 1, 1)).orElseThrow(),
+                            updated);
+                }
+            }));
+        }
+        for (Future<?> writer : done) {
+            writer.get(30, TimeUnit.SECONDS);
+        }
+        writers.shutdown();
+
+        CustomerStatisticsDTO result = statistics.statistics();
+        assertEquals(1, result.getTotal());
+        assertEquals(List.of(new LastNameCountDTO(store.findById(id).orElseThrow().getLastName(), 1)),
+                result.getTopLastNames());
+        assertTrue(result.getConsistent());
+    }
+
+    @Test
+    void shouldDropLastNamesWhoseCountReachesZero() {
+        CustomerCounts counts = new CustomerCounts();
+        counts.add("Pandey", LocalDate.of(1990, 1, 1), 1);
+        counts.add("Sharma", LocalDate.of(1990, 1, 1), 1);
+        counts.add("Sharma", LocalDate.of(1990, 1, 1), 1);
+        counts.add("Pandey", LocalDate.of(1990, 1, 1), -1);
+
+        assertFalse(counts.snapshot().containsKey("last name Pandey"));
+        assertEquals(List.of(new LastNameCountDTO("Sharma", 2)),
+                counts.toDTO(LocalDate.of(2026, 6, 15), 10).getTopLastNames());
+    }
+
+    @Test
+    void shouldReportCountsThatDriftedFromTheStore() {
+        save("Sharma", LocalDate.of(1990, 1, 1));
+        statistics.rebuild();
+        statistics.add(new CustomerDTO(UUID.randomUUID(), "Maneesh", "Pandey", LocalDate.of(1991, 2, 2)));
+
+        assertFalse(statistics.statistics().getConsistent());
+        statistics.rebuild();
+        assertTrue(statistics.statistics().getConsistent());
+    }
+
+    private Customer save(String lastName, LocalDate dob) {
+        Customer customer = new Customer();
+        customer.setFirstName("First");
+        customer.setLastName(lastName);
+        customer.setDob(dob);
+        return store.save(customer);
+    }
+}
@@ -0,0 +1,107 @@
+package com.interview.customer.store;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerPageDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.services.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomerSearchTests {
+
+    private static final String[] FIRST_NAMES = {"Maneesh", "manoj", "Neeraj", "MANISHA", "Asha"};
+    private static final String[] LAST_NAMES = {"Pandey", "pandit", "Sharma", "PANT", "Verma", "Shah"};
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerStore customerStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 60; i++) {
+            CustomerRequestDTO request = new CustomerRequestDTO();
+            request.setFirstName(FIRST_NAMES[i % FIRST_NAMES.length]);
+            request.setLastName(LAST_NAMES[i % LAST_NAMES.length]);
+            request.setDob(LocalDate.of(1980, 1, 1).plusDays(i * 97L).toString());
+            customerService.saveCustomer(request);
+        }
+    }
+
+    @Test
+    void shouldPageThroughMatchesInIndexOrder() {
+        assertSearch("pAn", null, null, null);
+        assertSearch(null, "man", null, null);
+        assertSearch(null, null, LocalDate.of(1985, 1, 1), LocalDate.of(1990, 12, 31));
+        assertSearch("sh", "A", null, LocalDate.of(1995, 1, 1));
+        assertSearch(null, "man", LocalDate.of(1982, 6, 1), null);
+    }
+
+    @Test
+    void shouldFollowUpdatesOfSearchedNames() {
+        CustomerRequestDTO request = new CustomerRequestDTO();
+        request.setFirstName("Quentin");
+        request.setLastName("Quayle");
+        request.setDob("1970-01-01");
+        CustomerDTO saved = customerService.saveCustomer(request);
+        request.setLastName("Zubair");
+        customerService.updateCustomer(java.util.UUID.fromString(saved.getCustomerId()), request);
+
+        assertTrue(customerService.searchCustomers("quay", null, null, null, null, 10).getCustomers().isEmpty());
+        List<CustomerDTO> found = customerService.searchCustomers("ZUB", null, null, null, null, 10).getCustomers();
+        assertEquals(List.of(saved.getCustomerId()), found.stream().map(CustomerDTO::getCustomerId).toList());
+    }
+
+    @Test
+    void shouldPlanSearchesAsIndexRangeScans() {
+        assertPlanUses("IDX_CUSTOMER_LAST_NAME", "SELECT * FROM CUSTOMER WHERE LAST_NAME_NORMALIZED >= 'pan'"
+                + " AND LAST_NAME_NORMALIZED < 'pao' AND FIRST_NAME_NORMALIZED LIKE 'ma%'"
+                + " ORDER BY LAST_NAME_NORMALIZED, CUSTOMER_ID FETCH FIRST 11 ROWS ONLY");
+        assertPlanUses("IDX_CUSTOMER_FIRST_NAME", "SELECT * FROM CUSTOMER WHERE FIRST_NAME_NORMALIZED >= 'man'"
+                + " AND FIRST_NAME_NORMALIZED < 'mao' ORDER BY FIRST_NAME_NORMALIZED, CUSTOMER_ID FETCH FIRST 11 ROWS ONLY");
+        assertPlanUses("IDX_CUSTOMER_DATE_OF_BIRTH", "SELECT * FROM CUSTOMER WHERE DATE_OF_BIRTH >= DATE '1985-01-01'"
+                + " AND DATE_OF_BIRTH <= DATE '1990-12-31' ORDER BY DATE_OF_BIRTH, CUSTOMER_ID FETCH FIRST 11 ROWS ONLY");
+    }
+
+    private void assertSearch(String lastName, String firstName, LocalDate dobFrom, LocalDate dobTo) {
+        CustomerSearch search = new CustomerSearch(lastName == null ? "" : lastName.toLowerCase(),
+                firstName == null ? "" : firstName.toLowerCase(),
+                dobFrom == null ? CustomerSearch.EARLIEST_DOB : dobFrom, dobTo == null ? CustomerSearch.LATEST_DOB : dobTo);
+        List<String> expected = new ArrayList<>();
+        List<CustomerDTO> all = new ArrayList<>();
+        customerStore.forEach(all::add);
+        all.stream()
+                .filter(customer -> search.matches(customer.getFirstName(), customer.getLastName(), customer.getDateOfBirth()))
+                .sorted(search.comparator())
+                .forEach(customer -> expected.add(customer.getCustomerId()));
+        assertFalse(expected.isEmpty());
+
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CustomerPageDTO page = customerService.searchCustomers(lastName, firstName, dobFrom, dobTo, cursor, 7);
+            page.getCustomers().forEach(customer -> paged.add(customer.getCustomerId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(expected, paged);
+    }
+
+    private void assertPlanUses(String index, String query) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+        assertTrue(plan.contains(index), plan);
+    }
+}
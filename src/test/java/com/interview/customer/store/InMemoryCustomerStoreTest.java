@@ -0,0 +1,210 @@
+package com.interview.customer.store;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerField;
+import com.interview.customer.models.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryCustomerStoreTest {
+
+    private InMemoryCustomerStore store;
+
+    @BeforeEach
+    void setUp() {
+        CustomerProperties properties = new CustomerProperties();
+        properties.getInMemory().setInitialCapacity(16);
+        store = new InMemoryCustomerStore(properties);
+    }
+
+    @Test
+    void shouldPageCustomersInIdOrderAcrossGrowth() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(store.save(customer("First" + i, "Last" + i, LocalDate.of(1990, 1, 1).plusDays(i))).getCustomerId());
+        }
+
+        List<UUID> paged = new ArrayList<>();
+        UUID after = null;
+        List<Customer> page;
+        do {
+            page = store.findPage(after, 7);
+            page.forEach(customer -> paged.add(customer.getCustomerId()));
+            after = page.isEmpty() ? null : page.getLast().getCustomerId();
+        } while (!page.isEmpty());
+
+        assertEquals(ids, paged);
+        Customer found = store.findById(ids.get(42)).orElseThrow();
+        assertEquals("First42", found.getFirstName());
+        assertEquals("Last42", found.getLastName());
+        assertEquals(LocalDate.of(1990, 1, 1).plusDays(42), found.getDob());
+    }
+
+    @Test
+    void shouldStartPageAfterUnknownCursor() {
+        UUID first = store.save(customer("Maneesh", "Pandey", LocalDate.of(1990, 1, 1))).getCustomerId();
+        UUID second = store.save(customer("Neeraj", "Pandey", LocalDate.of(1991, 1, 1))).getCustomerId();
+        store.delete(first);
+
+        assertEquals(List.of(second), store.findPage(first, 10).stream().map(Customer::getCustomerId).toList());
+        assertEquals(List.of(second), store.findPage(new UUID(0, 0), 10).stream().map(Customer::getCustomerId).toList());
+        assertTrue(store.findPage(second, 10).isEmpty());
+    }
+
+    @Test
+    void shouldUpdateWithAndWithoutExpectedVersion() {
+        UUID id = store.save(customer("Maneesh", "Pandey", LocalDate.of(1990, 1, 1))).getCustomerId();
+
+        assertEquals(Optional.of(new CustomerDTO(id, null, "Pandey", LocalDate.of(1990, 1, 1), 0)),
+                store.update(id, "Neeraj", "Kumar", LocalDate.of(1991, 2, 2)));
+        assertEquals(Optional.empty(), store.update(id, "Ravi", "Kumar", LocalDate.of(1991, 2, 2), 0));
+        assertEquals(Optional.of(new CustomerDTO(id, null, "Kumar", LocalDate.of(1991, 2, 2), 1)),
+                store.update(id, "Ravi", "Sharmaverma", LocalDate.of(1992, 3, 3), 1));
+        assertEquals(Optional.empty(), store.update(UUID.randomUUID(), "Ravi", "Kumar", LocalDate.of(1991, 2, 2)));
+
+        Customer found = store.findById(id).orElseThrow();
+        assertEquals("Ravi", found.getFirstName());
+        assertEquals("Sharmaverma", found.getLastName());
+        assertEquals(LocalDate.of(1992, 3, 3), found.getDob());
+        assertEquals(2L, store.findVersion(id).orElseThrow());
+    }
+
+    @Test
+    void shouldForgetDeletedCustomersAndCompact() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(store.save(customer("First" + i, "Last" + i, LocalDate.of(1990, 1, 1))).getCustomerId());
+        }
+        for (int i = 0; i < 30; i++) {
+            assertEquals("Last" + i, store.delete(ids.get(i)).orElseThrow().getLastName());
+        }
+
+        assertEquals(Optional.empty(), store.delete(ids.getFirst()));
+        assertFalse(store.existsById(ids.getFirst()));
+        assertEquals(10, store.size());
+        assertEquals(ids.subList(30, 40), store.findPage(null, 100).stream().map(Customer::getCustomerId).toList());
+        assertEquals("Last35", store.findById(ids.get(35)).orElseThrow().getLastName());
+    }
+
+    @Test
+    void shouldProjectRequestedFieldsAndLookUpMany() {
+        UUID id = store.save(customer("Maneesh", "Pandey", LocalDate.of(1990, 1, 1))).getCustomerId();
+
+        CustomerDTO projected = store.findProjectedById(id, EnumSet.of(CustomerField.LAST_NAME)).orElseThrow();
+        assertNull(projected.getCustomerId());
+        assertNull(projected.getFirstName());
+        assertEquals("Pandey", projected.getLastName());
+
+        List<CustomerDTO> found = store.findAllById(List.of(UUID.randomUUID(), id));
+        assertEquals(1, found.size());
+        assertEquals(id.toString(), found.getFirst().getCustomerId());
+    }
+
+    @Test
+    void shouldRejectIdsOutOfOrder() {
+        UUID id = store.save(customer("Maneesh", "Pandey", LocalDate.of(1990, 1, 1))).getCustomerId();
+        Customer earlier = customer("Neeraj", "Pandey", LocalDate.of(1990, 1, 1));
+        earlier.setCustomerId(new UUID(id.getMostSignificantBits() - 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> store.save(earlier));
+    }
+
+    @Test
+    void shouldServeConsistentReadsDuringWrites() throws Exception {
+        UUID id = store.save(customer("Aaaa", "Aaaa", LocalDate.of(1990, 1, 1))).getCustomerId();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            readers.add(executor.submit(() -> {
+                while (running.get()) {
+                    Customer customer = store.findById(id).orElseThrow();
+                    // every write replaces both names together, so a torn read would mix them
+                    assertEquals(customer.getFirstName(), customer.getLastName());
+                }
+            }));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String name = i % 2 == 0 ? "Bb" : "Cccccc";
+            store.update(id, name, name, LocalDate.of(1990, 1, 1));
+            store.save(customer("Dddd", "Eeee", LocalDate.of(1990, 1, 1)));
+        }
+        running.set(false);
+        for (Future<?> reader : readers) {
+            reader.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(20_001, store.size());
+    }
+
+    @Test
+    void shouldReuseNameBytesWhenShorterAndLongerNamesAlternate() {
+        UUID id = store.save(customer("Maneesh", "Pandey", LocalDate.of(1990, 1, 1))).getCustomerId();
+        store.update(id, "Maneesh", "Sharmaverma", LocalDate.of(1990, 1, 1));
+        int arenaSize = store.arenaSize();
+
+        for (int i = 0; i < 10_000; i++) {
+            String lastName = i % 2 == 0 ? "Pant" : "Sharmaverma";
+            store.update(id, "Maneesh", lastName, LocalDate.of(1990, 1, 1));
+        }
+
+        assertEquals(arenaSize, store.arenaSize());
+        assertEquals("Sharmaverma", store.findById(id).orElseThrow().getLastName());
+    }
+
+    @Test
+    void shouldCompactTheArenaWhenMovedNamesLeaveItHalfUnused() {
+        UUID kept = store.save(customer("Ravi", "Kumar", LocalDate.of(1990, 1, 1))).getCustomerId();
+        UUID growing = store.save(customer("A", "A", LocalDate.of(1990, 1, 1))).getCustomerId();
+
+        for (int length = 2; length <= 2_000; length++) {
+            String name = "a".repeat(length);
+            store.update(growing, name, name, LocalDate.of(1990, 1, 1));
+        }
+
+        // without compaction every earlier copy of the names would still take up the arena, about 4 MB
+        assertTrue(store.arenaSize() < 64 * 1024, "arena holds " + store.arenaSize() + " bytes");
+        assertEquals("Kumar", store.findById(kept).orElseThrow().getLastName());
+        assertEquals("a".repeat(2_000), store.findById(growing).orElseThrow().getFirstName());
+    }
+
+    @Test
+    void shouldSearchInSortKeyOrderAfterTheCursor() {
+        UUID pant = store.save(customer("Neeraj", "PANT", LocalDate.of(1985, 3, 1))).getCustomerId();
+        UUID pandey = store.save(customer("Maneesh", "Pandey", LocalDate.of(1990, 1, 1))).getCustomerId();
+        UUID pandit = store.save(customer("Manoj", "pandit", LocalDate.of(1991, 1, 1))).getCustomerId();
+        store.save(customer("Manisha", "Sharma", LocalDate.of(1992, 1, 1)));
+
+        CustomerSearch byLastName = new CustomerSearch("pan", "", CustomerSearch.EARLIEST_DOB, CustomerSearch.LATEST_DOB);
+        List<CustomerDTO> first = store.search(byLastName, null, null, 2);
+        assertEquals(List.of(pandey.toString(), pandit.toString()), first.stream().map(CustomerDTO::getCustomerId).toList());
+        List<CustomerDTO> next = store.search(byLastName, byLastName.sortKey(first.getLast()), pandit, 2);
+        assertEquals(List.of(pant.toString()), next.stream().map(CustomerDTO::getCustomerId).toList());
+
+        CustomerSearch byFirstName = new CustomerSearch("", "man", LocalDate.of(1990, 6, 1), CustomerSearch.LATEST_DOB);
+        assertEquals(List.of("Manisha", "Manoj"), store.search(byFirstName, null, null, 10).stream()
+                .map(CustomerDTO::getFirstName).toList());
+    }
+
+    private static Customer customer(String firstName, String lastName, LocalDate dob) {
+        Customer customer = new Customer();
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        customer.setDob(dob);
+        return customer;
+    }
+}
@@ -0,0 +1,37 @@
+package com.interview.customer.store;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.services.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("in-memory")
+class InMemoryProfileTests {
+
+    @Autowired
+    private CustomerStore customerStore;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Test
+    void shouldServeCustomersWithoutJpa() {
+        assertInstanceOf(InMemoryCustomerStore.class, customerStore);
+
+        CustomerRequestDTO request = new CustomerRequestDTO();
+        request.setFirstName("Maneesh");
+        request.setLastName("Pandey");
+        request.setDob("1990-01-01");
+        CustomerDTO saved = customerService.saveCustomer(request);
+
+        assertEquals("Maneesh", customerService.getCustomer(UUID.fromString(saved.getCustomerId())).getFirstName());
+    }
+}
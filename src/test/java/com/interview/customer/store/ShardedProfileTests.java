@@ -0,0 +1,94 @@
+package com.interview.customer.store;
+
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.dto.CustomerPageDTO;
+import com.interview.customer.dto.CustomerRequestDTO;
+import com.interview.customer.repositories.CustomerRepository;
+import com.interview.customer.services.CustomerService;
+import com.interview.customer.sharding.ShardContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("sharded")
+class ShardedProfileTests {
+
+    @Autowired
+    private CustomerStore customerStore;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void shouldStoreEachCustomerOnItsShardAndPageAcrossShards() {
+        ShardedCustomerStore shardedStore = assertInstanceOf(ShardedCustomerStore.class, customerStore);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            CustomerRequestDTO request = new CustomerRequestDTO();
+            request.setFirstName("First" + i);
+            request.setLastName("Last" + i);
+            request.setDob("1990-01-01");
+            ids.add(UUID.fromString(customerService.saveCustomer(request).getCustomerId()));
+        }
+
+        long total = 0;
+        for (int shard = 0; shard < 3; shard++) {
+            long onShard = ShardContext.callOn(shard, customerRepository::count);
+            assertTrue(onShard > 0, "shard " + shard + " is empty");
+            total += onShard;
+        }
+        assertEquals(30, total);
+        for (UUID id : ids) {
+            assertTrue(ShardContext.callOn(shardedStore.shardOf(id), () -> customerRepository.existsById(id)));
+            assertEquals(id.toString(), customerService.getCustomer(id).getCustomerId());
+        }
+
+        List<UUID> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CustomerPageDTO page = customerService.getCustomers(cursor, 7);
+            page.getCustomers().stream().map(CustomerDTO::getCustomerId).map(UUID::fromString).forEach(paged::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        ids.sort(Comparator.comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+                .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned));
+        assertEquals(ids, paged);
+    }
+
+    @Test
+    void shouldMergeSearchResultsAcrossShards() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            CustomerRequestDTO request = new CustomerRequestDTO();
+            request.setFirstName("Searched");
+            request.setLastName("Shardsearch" + (char) ('a' + i % 5));
+            request.setDob("1990-01-01");
+            ids.add(customerService.saveCustomer(request).getCustomerId());
+        }
+
+        List<CustomerDTO> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CustomerPageDTO page = customerService.searchCustomers("shardsearch", "searched", null, null, cursor, 6);
+            paged.addAll(page.getCustomers());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        CustomerSearch search = new CustomerSearch("shardsearch", "searched", CustomerSearch.EARLIEST_DOB, CustomerSearch.LATEST_DOB);
+        assertEquals(20, paged.size());
+        assertTrue(paged.stream().map(CustomerDTO::getCustomerId).toList().containsAll(ids));
+        assertEquals(paged.stream().sorted(search.comparator()).toList(), paged);
+    }
+}
@@ -0,0 +1,95 @@
+package com.interview.customer.validation;
+
+import com.interview.customer.dto.CustomerRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomerRequestValidationTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    /**
+     * The request constraints as they were declared with regular expressions.
+     */
+    @Data
+    static class RegexCustomerRequest {
+
+        @NotBlank(message = "First name is mandatory")
+        @Pattern(regexp = "^[a-zA-Z]{1,255}$", message = "First name should contain only alphabets")
+        private String firstName;
+
+        @NotBlank(message = "Last name is mandatory")
+        @Pattern(regexp = "^[a-zA-Z]{1,255}$", message = "Last name should contain only alphabets")
+        private String lastName;
+
+        @NotNull(message = "Date of birth is mandatory")
+        @Pattern(regexp = "^\\d{4}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01])$", message = "Date of birth should be in yyyy-MM-dd format")
+        private String dob;
+    }
+
+    @Test
+    void shouldReportTheSameErrorsAsTheRegularExpressions() {
+        List<String> names = new ArrayList<>(Arrays.asList(null, "", " ", "Maneesh", "maneesh", "Mañeesh", "Ma neesh",
+                "Ma-neesh", "Maneesh1", "Maneesh\n", "Z", "a".repeat(255), "a".repeat(256), "[", "`", "@", "{"));
+        List<String> dates = new ArrayList<>(Arrays.asList(null, "", "1990-01-01", "0000-12-31", "1990-1-01", "1990-00-10",
+                "1990-13-10", "1990-12-00", "1990-12-32", "1990-02-31", "1990-02-29", "2000-02-29", "19900101",
+                "1990/01/01", "1990-01-01\n", " 1990-01-01", "199a-01-01", "1990-0a-01", "١٩٩٠-01-01", "1990-01-3:"));
+
+        for (String name : names) {
+            for (String dob : dates) {
+                RegexCustomerRequest expected = new RegexCustomerRequest();
+                expected.setFirstName(name);
+                expected.setLastName(name);
+                expected.setDob(dob);
+                CustomerRequestDTO actual = new CustomerRequestDTO();
+                actual.setFirstName(name);
+                actual.setLastName(name);
+                actual.setDob(dob);
+
+                assertEquals(errors(validator.validate(expected)), errors(validator.validate(actual)),
+                        "name=" + name + " dob=" + dob);
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepTheParsedDateOfBirth() {
+        CustomerRequestDTO request = new CustomerRequestDTO();
+        request.setFirstName("Maneesh");
+        request.setLastName("Pandey");
+        request.setDob("2000-02-29");
+
+        assertTrue(validator.validate(request).isEmpty());
+        assertEquals(LocalDate.of(2000, 2, 29), request.getParsedDob());
+
+        request.setDob("1990-02-31");
+        assertNull(request.getParsedDob());
+        assertTrue(validator.validate(request).isEmpty());
+        assertNull(request.getParsedDob());
+        assertThrows(DateTimeParseException.class, request::dobAsLocalDate);
+    }
+
+    private static Set<String> errors(Set<? extends ConstraintViolation<?>> violations) {
+        Set<String> errors = new TreeSet<>();
+        for (ConstraintViolation<?> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,142 @@
+package com.interview.customer.writes;
+
+import com.interview.customer.config.CustomerProperties;
+import com.interview.customer.dto.CustomerDTO;
+import com.interview.customer.models.Customer;
+import com.interview.customer.store.CustomerStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class GroupCommitWriterTest {
+
+    private CustomerStore customerStore;
+    private GroupCommitWriter writer;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        customerStore = mock(CustomerStore.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(customerStore).inTransaction(any());
+        when(customerStore.save(any(Customer.class))).thenAnswer(invocation -> {
+            Customer customer = invocation.getArgument(0);
+            if (customer.getLastName().equals("Invalid")) {
+                throw new IllegalArgumentException("rejected by the store");
+            }
+            customer.setCustomerId(UUID.randomUUID());
+            return customer;
+        });
+        CustomerProperties properties = new CustomerProperties();
+        properties.getGroupCommit().setEnabled(true);
+        properties.getGroupCommit().setMaxWait(Duration.ofMillis(1));
+        writer = new GroupCommitWriter(customerStore, properties);
+        writer.start();
+        callers = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        writer.stop();
+    }
+
+    @Test
+    void shouldCommitWritesQueuedDuringACommitTogether() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                committing.countDown();
+                release.await();
+            }
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(customerStore).inTransaction(any());
+
+        Future<Customer> blocked = callers.submit(() -> writer.save(customer("Pandey")));
+        assertTrue(committing.await(5, TimeUnit.SECONDS));
+        List<Future<Customer>> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(callers.submit(() -> writer.save(customer("Pandey"))));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.queued() < 10 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertNotNull(blocked.get(5, TimeUnit.SECONDS).getCustomerId());
+        for (Future<Customer> future : queued) {
+            assertNotNull(future.get(5, TimeUnit.SECONDS).getCustomerId());
+        }
+        verify(customerStore, times(2)).inTransaction(any());
+        verify(customerStore, times(11)).save(any(Customer.class));
+    }
+
+    @Test
+    void shouldFailOnlyTheWriteThatFailed() throws Exception {
+        CustomerDTO replaced = new CustomerDTO(UUID.randomUUID(), "Maneesh", "Pandey", LocalDate.of(1990, 1, 1), 3L);
+        when(customerStore.update(any(UUID.class), any(), any(), any(), anyLong())).thenReturn(Optional.empty());
+        when(customerStore.update(any(UUID.class), any(), any(), any(), eq(3L))).thenReturn(Optional.of(replaced));
+
+        Future<Customer> invalid = callers.submit(() -> writer.save(customer("Invalid")));
+        Future<Customer> valid = callers.submit(() -> writer.save(customer("Pandey")));
+        Future<Optional<CustomerDTO>> stale = callers.submit(() -> writer.update(UUID.randomUUID(), "Neeraj", "Pandey", LocalDate.of(1990, 1, 1), 2));
+        Future<Optional<CustomerDTO>> current = callers.submit(() -> writer.update(UUID.randomUUID(), "Neeraj", "Pandey", LocalDate.of(1990, 1, 1), 3));
+
+        Exception failure = assertThrows(Exception.class, () -> invalid.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        assertEquals("Pandey", valid.get(5, TimeUnit.SECONDS).getLastName());
+        assertEquals(Optional.empty(), stale.get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(replaced), current.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRetryEveryWriteAloneWhenTheBatchFailsToCommit() throws Exception {
+        AtomicBoolean failNextCommit = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            if (failNextCommit.getAndSet(false)) {
+                throw new IllegalStateException("commit failed");
+            }
+            return null;
+        }).when(customerStore).inTransaction(any());
+
+        Customer saved = writer.save(customer("Pandey"));
+
+        assertNotNull(saved.getCustomerId());
+        verify(customerStore, times(2)).inTransaction(any());
+        verify(customerStore, times(2)).save(any(Customer.class));
+    }
+
+    private static Customer customer(String lastName) {
+        Customer customer = new Customer();
+        customer.setFirstName("Maneesh");
+        customer.setLastName(lastName);
+        customer.setDob(LocalDate.of(1990, 1, 1));
+        return customer;
+    }
+}